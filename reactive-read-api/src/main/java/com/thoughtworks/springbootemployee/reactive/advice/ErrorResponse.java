@@ -0,0 +1,20 @@
+package com.thoughtworks.springbootemployee.reactive.advice;
+
+public class ErrorResponse {
+    private String message;
+    private String status;
+
+    public ErrorResponse(String message, String status) {
+        this.message = message;
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.thoughtworks.springbootemployee.reactive.advice;
+
+import com.thoughtworks.springbootemployee.reactive.exception.CompanyNotFoundException;
+import com.thoughtworks.springbootemployee.reactive.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.reactive.exception.InvalidQueryParameterException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class GlobalControllerAdvice {
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorResponse employeeNotFoundExceptionHandling(EmployeeNotFoundException employeeNotFoundException){
+        return new ErrorResponse(employeeNotFoundException.getMessage(), HttpStatus.NOT_FOUND.toString());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorResponse companyNotFoundExceptionHandling(CompanyNotFoundException companyNotFoundException){
+        return new ErrorResponse(companyNotFoundException.getMessage(), HttpStatus.NOT_FOUND.toString());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse invalidQueryParameterExceptionHandling(InvalidQueryParameterException invalidQueryParameterException){
+        return new ErrorResponse(invalidQueryParameterException.getMessage(), HttpStatus.BAD_REQUEST.toString());
+    }
+
+}
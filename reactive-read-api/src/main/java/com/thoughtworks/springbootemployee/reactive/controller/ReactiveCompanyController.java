@@ -0,0 +1,44 @@
+package com.thoughtworks.springbootemployee.reactive.controller;
+
+import com.thoughtworks.springbootemployee.reactive.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.reactive.dto.CursorPage;
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.reactive.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.reactive.service.ReactiveCompanyService;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/companies")
+public class ReactiveCompanyController {
+    private ReactiveCompanyService companyService;
+    private EmployeeMapper employeeMapper;
+
+    public ReactiveCompanyController(ReactiveCompanyService companyService, EmployeeMapper employeeMapper) {
+        this.companyService = companyService;
+        this.employeeMapper = employeeMapper;
+    }
+
+    @GetMapping
+    public Flux<CompanyResponse> findCompanies() {
+        return companyService.findCompanies();
+    }
+
+    @GetMapping("/{companyId}")
+    public Mono<CompanyResponse> findCompanyById(@PathVariable Integer companyId){
+        return companyService.findCompanyById(companyId);
+    }
+
+    @GetMapping("/{companyId}/employees")
+    public Mono<CursorPage<EmployeeResponse>> getCompanyEmployees(@PathVariable Integer companyId, EmployeeQuery employeeQuery) {
+        return companyService.getCompanyEmployees(companyId, employeeQuery)
+                .map(page -> page.map(employeeMapper::toResponse));
+    }
+
+    @GetMapping(params = {"pageIndex", "pageSize"})
+    public Flux<CompanyResponse> findCompaniesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize){
+        return companyService.findCompaniesByPagination(pageIndex, pageSize);
+    }
+}
@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.reactive.controller;
+
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.reactive.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.reactive.service.ReactiveEmployeeService;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/employees")
+public class ReactiveEmployeesController {
+    private ReactiveEmployeeService employeeService;
+    private EmployeeMapper employeeMapper;
+
+    public ReactiveEmployeesController(ReactiveEmployeeService employeeService, EmployeeMapper employeeMapper) {
+        this.employeeService = employeeService;
+        this.employeeMapper = employeeMapper;
+    }
+
+    @GetMapping
+    public Flux<EmployeeResponse> findEmployees() {
+        return employeeService.findEmployees().map(employeeMapper::toResponse);
+    }
+
+    @GetMapping("/{employeeId}")
+    public Mono<EmployeeResponse> findEmployeeById(@PathVariable Integer employeeId){
+        return employeeService.findEmployeeById(employeeId).map(employeeMapper::toResponse);
+    }
+
+    @GetMapping(params = "gender")
+    public Flux<EmployeeResponse> findEmployeeByGender(@RequestParam String gender){
+        return employeeService.findEmployeeByGender(gender).map(employeeMapper::toResponse);
+    }
+
+    @GetMapping(params = {"pageIndex", "pageSize"})
+    public Flux<EmployeeResponse> findEmployeesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize){
+        return employeeService.findEmployeesByPagination(pageIndex, pageSize).map(employeeMapper::toResponse);
+    }
+}
@@ -0,0 +1,31 @@
+package com.thoughtworks.springbootemployee.reactive.dto;
+
+import java.util.List;
+
+public class CompanyResponse {
+    private Integer id;
+    private String companyName;
+    private List<EmployeeResponse> employees;
+
+    public CompanyResponse(Integer id, String companyName, List<EmployeeResponse> employees) {
+        this.id = id;
+        this.companyName = companyName;
+        this.employees = employees;
+    }
+
+    public CompanyResponse() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public List<EmployeeResponse> getEmployees() {
+        return employees;
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.reactive.exception;
+
+public class CompanyNotFoundException extends RuntimeException {
+    public CompanyNotFoundException(String message) {
+        super(message);
+    }
+}
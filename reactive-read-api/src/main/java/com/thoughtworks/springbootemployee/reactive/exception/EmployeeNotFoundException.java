@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.reactive.exception;
+
+public class EmployeeNotFoundException extends RuntimeException {
+    public EmployeeNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.reactive.exception;
+
+public class InvalidQueryParameterException extends RuntimeException {
+    public InvalidQueryParameterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.thoughtworks.springbootemployee.reactive.mapper;
+
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.reactive.model.Employee;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmployeeMapper {
+    public EmployeeResponse toResponse(Employee employee) {
+        return new EmployeeResponse(employee.getId(), employee.getName(), employee.getAge(), employee.getGender(), employee.getSalary());
+    }
+}
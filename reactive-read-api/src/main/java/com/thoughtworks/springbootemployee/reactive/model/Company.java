@@ -0,0 +1,36 @@
+package com.thoughtworks.springbootemployee.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("company")
+public class Company {
+    @Id
+    private Integer id;
+    @Column("company_name")
+    private String companyName;
+
+    public Company(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public Company() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+}
@@ -0,0 +1,17 @@
+package com.thoughtworks.springbootemployee.reactive.repository;
+
+import com.thoughtworks.springbootemployee.reactive.model.Company;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveCompanyRepository extends ReactiveCrudRepository<Company, Integer> {
+    @Query("select * from company order by id")
+    Flux<Company> findAllOrderById();
+
+    @Query("select * from company order by id limit :limit offset :offset")
+    Flux<Company> findPage(@Param("offset") long offset, @Param("limit") int limit);
+}
@@ -0,0 +1,25 @@
+package com.thoughtworks.springbootemployee.reactive.repository;
+
+import com.thoughtworks.springbootemployee.reactive.model.Employee;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+@Repository
+public interface ReactiveEmployeeRepository extends ReactiveCrudRepository<Employee, Integer>, ReactiveEmployeeRepositoryCustom {
+    @Query("select * from employee order by id")
+    Flux<Employee> findAllOrderById();
+
+    @Query("select * from employee where gender = :gender order by id")
+    Flux<Employee> findEmployeeByGender(@Param("gender") String gender);
+
+    @Query("select * from employee order by id limit :limit offset :offset")
+    Flux<Employee> findPage(@Param("offset") long offset, @Param("limit") int limit);
+
+    @Query("select * from employee where company_id in (:companyIds) order by id")
+    Flux<Employee> findByCompanyIdIn(@Param("companyIds") Collection<Integer> companyIds);
+}
@@ -0,0 +1,12 @@
+package com.thoughtworks.springbootemployee.reactive.repository;
+
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.reactive.model.Employee;
+import com.thoughtworks.springbootemployee.reactive.pagination.SortKeyCursor;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveEmployeeRepositoryCustom {
+    Flux<Employee> findFirstWithSortValue(EmployeeQuery employeeQuery, SortKeyCursor cursor, int limit);
+
+    Flux<Employee> findFirstWithoutSortValue(EmployeeQuery employeeQuery, SortKeyCursor cursor, int limit);
+}
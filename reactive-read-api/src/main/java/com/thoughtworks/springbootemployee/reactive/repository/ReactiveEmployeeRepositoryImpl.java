@@ -0,0 +1,107 @@
+package com.thoughtworks.springbootemployee.reactive.repository;
+
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.reactive.exception.InvalidQueryParameterException;
+import com.thoughtworks.springbootemployee.reactive.model.Employee;
+import com.thoughtworks.springbootemployee.reactive.pagination.SortKeyCursor;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The keyset pages of the servlet application's EmployeeSpecifications, written as SQL. The sort
+// field is one of the service's whitelisted columns, so it is safe to put into the statement.
+public class ReactiveEmployeeRepositoryImpl implements ReactiveEmployeeRepositoryCustom {
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepositoryImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Orders by the sort field, then id, and keeps only rows with a sort value that come after the cursor.
+    @Override
+    public Flux<Employee> findFirstWithSortValue(EmployeeQuery employeeQuery, SortKeyCursor cursor, int limit) {
+        String sort = employeeQuery.getSort();
+        String order = order(employeeQuery);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> conditions = filters(employeeQuery, parameters);
+        if ("id".equals(sort)) {
+            if (cursor != null) {
+                conditions.add("id " + comparison(employeeQuery) + " :cursorId");
+                parameters.put("cursorId", cursor.getId());
+            }
+            return select(conditions, "id " + order, limit, parameters);
+        }
+        conditions.add(sort + " is not null");
+        if (cursor != null) {
+            conditions.add("(" + sort + " " + comparison(employeeQuery) + " :cursorValue or (" + sort + " = :cursorValueTie and id "
+                    + comparison(employeeQuery) + " :cursorId))");
+            Object cursorValue = sortValue(sort, cursor.getValue());
+            parameters.put("cursorValue", cursorValue);
+            parameters.put("cursorValueTie", cursorValue);
+            parameters.put("cursorId", cursor.getId());
+        }
+        return select(conditions, sort + " " + order + ", id " + order, limit, parameters);
+    }
+
+    // The rows findFirstWithSortValue leaves out, ordered by id; they come last in both directions.
+    @Override
+    public Flux<Employee> findFirstWithoutSortValue(EmployeeQuery employeeQuery, SortKeyCursor cursor, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> conditions = filters(employeeQuery, parameters);
+        conditions.add(employeeQuery.getSort() + " is null");
+        if (cursor != null) {
+            conditions.add("id " + comparison(employeeQuery) + " :cursorId");
+            parameters.put("cursorId", cursor.getId());
+        }
+        return select(conditions, "id " + order(employeeQuery), limit, parameters);
+    }
+
+    private Flux<Employee> select(List<String> conditions, String orderBy, int limit, Map<String, Object> parameters) {
+        String sql = "select * from employee"
+                + (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions))
+                + " order by " + orderBy + " limit :limit";
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.execute(sql).bind("limit", limit);
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            statement = statement.bind(parameter.getKey(), parameter.getValue());
+        }
+        return statement.as(Employee.class).fetch().all();
+    }
+
+    private static List<String> filters(EmployeeQuery employeeQuery, Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        addIfPresent(conditions, parameters, "gender = :gender", "gender", employeeQuery.getGender());
+        addIfPresent(conditions, parameters, "company_id = :companyId", "companyId", employeeQuery.getCompanyId());
+        addIfPresent(conditions, parameters, "age >= :minAge", "minAge", employeeQuery.getMinAge());
+        addIfPresent(conditions, parameters, "age <= :maxAge", "maxAge", employeeQuery.getMaxAge());
+        addIfPresent(conditions, parameters, "salary >= :minSalary", "minSalary", employeeQuery.getMinSalary());
+        addIfPresent(conditions, parameters, "salary <= :maxSalary", "maxSalary", employeeQuery.getMaxSalary());
+        return conditions;
+    }
+
+    private static void addIfPresent(List<String> conditions, Map<String, Object> parameters, String condition, String name, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+    }
+
+    private static String order(EmployeeQuery employeeQuery) {
+        return "asc".equals(employeeQuery.getDirection()) ? "asc" : "desc";
+    }
+
+    private static String comparison(EmployeeQuery employeeQuery) {
+        return "asc".equals(employeeQuery.getDirection()) ? ">" : "<";
+    }
+
+    private static Object sortValue(String sort, String value) {
+        try {
+            return "name".equals(sort) ? value : Integer.valueOf(value);
+        } catch (NumberFormatException exception) {
+            throw new InvalidQueryParameterException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.thoughtworks.springbootemployee.reactive.service;
+
+import com.thoughtworks.springbootemployee.reactive.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.reactive.dto.CursorPage;
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.reactive.exception.CompanyNotFoundException;
+import com.thoughtworks.springbootemployee.reactive.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.reactive.model.Company;
+import com.thoughtworks.springbootemployee.reactive.model.Employee;
+import com.thoughtworks.springbootemployee.reactive.repository.ReactiveCompanyRepository;
+import com.thoughtworks.springbootemployee.reactive.repository.ReactiveEmployeeRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class ReactiveCompanyService {
+    // companies are joined with their employees one window at a time, so a long company list
+    // streams with a bounded number of employee queries instead of one per company
+    private static final int COMPANY_WINDOW = 100;
+
+    private ReactiveCompanyRepository companyRepository;
+    private ReactiveEmployeeRepository employeeRepository;
+    private ReactiveEmployeeService employeeService;
+    private EmployeeMapper employeeMapper;
+
+    public ReactiveCompanyService(ReactiveCompanyRepository companyRepository, ReactiveEmployeeRepository employeeRepository,
+                                  ReactiveEmployeeService employeeService, EmployeeMapper employeeMapper) {
+        this.companyRepository = companyRepository;
+        this.employeeRepository = employeeRepository;
+        this.employeeService = employeeService;
+        this.employeeMapper = employeeMapper;
+    }
+
+    public Flux<CompanyResponse> findCompanies() {
+        return withEmployees(companyRepository.findAllOrderById());
+    }
+
+    public Mono<CompanyResponse> findCompanyById(Integer companyId) {
+        return withEmployees(findCompany(companyId).flux()).next();
+    }
+
+    public Flux<CompanyResponse> findCompaniesByPagination(Integer pageIndex, Integer pageSize) {
+        return withEmployees(companyRepository.findPage((long) pageIndex * pageSize, pageSize));
+    }
+
+    public Mono<CursorPage<Employee>> getCompanyEmployees(Integer companyId, EmployeeQuery employeeQuery) {
+        employeeQuery.setCompanyId(companyId);
+        return findCompany(companyId).then(employeeService.queryEmployees(employeeQuery));
+    }
+
+    private Mono<Company> findCompany(Integer companyId) {
+        return companyRepository.findById(companyId)
+                .switchIfEmpty(Mono.error(() -> new CompanyNotFoundException("Company not found")));
+    }
+
+    private Flux<CompanyResponse> withEmployees(Flux<Company> companies) {
+        return companies.buffer(COMPANY_WINDOW).concatMap(window -> {
+            List<Integer> companyIds = window.stream().map(Company::getId).collect(Collectors.toList());
+            return employeeRepository.findByCompanyIdIn(companyIds)
+                    .collectMultimap(Employee::getCompanyId)
+                    .flatMapMany(employeesByCompany -> Flux.fromIterable(window)
+                            .map(company -> toResponse(company, employeesByCompany)));
+        });
+    }
+
+    private CompanyResponse toResponse(Company company, Map<Integer, Collection<Employee>> employeesByCompany) {
+        List<EmployeeResponse> employees = employeesByCompany.getOrDefault(company.getId(), Collections.emptyList())
+                .stream()
+                .map(employeeMapper::toResponse)
+                .collect(Collectors.toList());
+        return new CompanyResponse(company.getId(), company.getCompanyName(), employees);
+    }
+}
@@ -0,0 +1,98 @@
+package com.thoughtworks.springbootemployee.reactive.service;
+
+import com.thoughtworks.springbootemployee.reactive.dto.CursorPage;
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.reactive.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.reactive.exception.InvalidQueryParameterException;
+import com.thoughtworks.springbootemployee.reactive.model.Employee;
+import com.thoughtworks.springbootemployee.reactive.pagination.SortKeyCursor;
+import com.thoughtworks.springbootemployee.reactive.repository.ReactiveEmployeeRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class ReactiveEmployeeService {
+    private static final List<String> QUERY_SORT_FIELDS = Arrays.asList("id", "name", "age", "salary");
+    private static final List<String> QUERY_DIRECTIONS = Arrays.asList("asc", "desc");
+
+    private ReactiveEmployeeRepository employeeRepository;
+
+    public ReactiveEmployeeService(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    public Flux<Employee> findEmployees() {
+        return employeeRepository.findAllOrderById();
+    }
+
+    public Mono<Employee> findEmployeeById(Integer employeeId) {
+        return employeeRepository.findById(employeeId)
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException("Employee not found")));
+    }
+
+    public Flux<Employee> findEmployeeByGender(String gender) {
+        return employeeRepository.findEmployeeByGender(gender);
+    }
+
+    public Flux<Employee> findEmployeesByPagination(Integer pageIndex, Integer pageSize) {
+        return employeeRepository.findPage((long) pageIndex * pageSize, pageSize);
+    }
+
+    public Mono<CursorPage<Employee>> queryEmployees(EmployeeQuery employeeQuery) {
+        return Mono.defer(() -> {
+            String sort = employeeQuery.getSort();
+            String direction = employeeQuery.getDirection();
+            if (!QUERY_SORT_FIELDS.contains(sort)) {
+                throw new InvalidQueryParameterException("sort must be one of id, name, age, salary.");
+            }
+            if (!QUERY_DIRECTIONS.contains(direction)) {
+                throw new InvalidQueryParameterException("direction must be asc or desc.");
+            }
+            Integer limit = employeeQuery.getLimit();
+            if (limit == null || limit < 1 || limit > SortKeyCursor.MAX_LIMIT) {
+                throw new InvalidQueryParameterException("Limit must be between 1 and " + SortKeyCursor.MAX_LIMIT + ".");
+            }
+            int rowsWithLookAhead = limit + 1;
+            SortKeyCursor cursor = SortKeyCursor.decode(employeeQuery.getAfter(), sort, direction);
+            // Rows without a sort value come last; they are only read once the rows with one run out.
+            boolean cursorWithoutSortValue = cursor != null && cursor.getValue() == null && !"id".equals(sort);
+            Flux<Employee> withSortValue = cursorWithoutSortValue ? Flux.empty()
+                    : employeeRepository.findFirstWithSortValue(employeeQuery, cursor, rowsWithLookAhead);
+            return withSortValue.collectList()
+                    .flatMap(employees -> employees.size() >= rowsWithLookAhead || "id".equals(sort) ? Mono.just(employees)
+                            : employeeRepository.findFirstWithoutSortValue(employeeQuery, cursorWithoutSortValue ? cursor : null,
+                                    rowsWithLookAhead - employees.size())
+                            .collectList()
+                            .map(withoutSortValue -> {
+                                employees.addAll(withoutSortValue);
+                                return employees;
+                            }))
+                    .map(employees -> toPage(employees, sort, direction, limit));
+        });
+    }
+
+    private static CursorPage<Employee> toPage(List<Employee> employees, String sort, String direction, int limit) {
+        if (employees.size() <= limit) {
+            return new CursorPage<>(employees, null);
+        }
+        Employee last = employees.get(limit - 1);
+        return new CursorPage<>(employees.subList(0, limit), SortKeyCursor.encode(sort, direction, last.getId(), sortValue(last, sort)));
+    }
+
+    private static Object sortValue(Employee employee, String sort) {
+        switch (sort) {
+            case "name":
+                return employee.getName();
+            case "age":
+                return employee.getAge();
+            case "salary":
+                return employee.getSalary();
+            default:
+                return employee.getId();
+        }
+    }
+}
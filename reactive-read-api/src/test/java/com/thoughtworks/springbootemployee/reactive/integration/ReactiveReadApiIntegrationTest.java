@@ -0,0 +1,165 @@
+package com.thoughtworks.springbootemployee.reactive.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thoughtworks.springbootemployee.reactive.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.reactive.model.Company;
+import com.thoughtworks.springbootemployee.reactive.model.Employee;
+import com.thoughtworks.springbootemployee.reactive.repository.ReactiveCompanyRepository;
+import com.thoughtworks.springbootemployee.reactive.repository.ReactiveEmployeeRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+public class ReactiveReadApiIntegrationTest {
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+    @Autowired
+    private ReactiveCompanyRepository companyRepository;
+
+    @TestConfiguration
+    static class SchemaConfiguration {
+        // Same in-memory database as spring.r2dbc.url, reached over JDBC because Flyway does not speak R2DBC.
+        @Bean(initMethod = "migrate")
+        Flyway flyway() {
+            return Flyway.configure()
+                    .dataSource("jdbc:h2:mem:reactivetestdb;DB_CLOSE_DELAY=-1", "sa", "")
+                    .locations("classpath:db/migration")
+                    .load();
+        }
+    }
+
+    @BeforeEach
+    void tearDown() {
+        employeeRepository.deleteAll().then(companyRepository.deleteAll()).block();
+    }
+
+    @Test
+    void should_stream_employees_one_element_at_a_time_when_accept_stream_json() {
+        // Given
+        employeeRepository.saveAll(Flux.just(new Employee("russ", 22, "male", 5000), new Employee("linne", 22, "female", 6000)))
+                .blockLast();
+
+        // When
+        Flux<EmployeeResponse> employees = webTestClient.get().uri("/employees")
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EmployeeResponse.class)
+                .getResponseBody();
+
+        // Then
+        StepVerifier.create(employees, 1)
+                .expectNextMatches(employee -> employee.getName().equals("russ"))
+                .thenRequest(1)
+                .expectNextMatches(employee -> employee.getName().equals("linne"))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_return_employees_when_find_by_gender_and_pagination() {
+        // Given
+        employeeRepository.saveAll(Flux.just(new Employee("russ", 22, "male", 5000), new Employee("linne", 22, "female", 6000),
+                new Employee("jeff", 23, "male", 7000))).blockLast();
+
+        // When & Then
+        webTestClient.get().uri("/employees?gender=male").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].name").isEqualTo("jeff");
+        webTestClient.get().uri("/employees?pageIndex=1&pageSize=2").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("jeff");
+    }
+
+    @Test
+    void should_return_company_with_its_employees_when_find_company_by_id() {
+        // Given
+        Company company = companyRepository.save(new Company("OOCL")).block();
+        Employee employee = new Employee("russ", 22, "male", 5000);
+        employee.setCompanyId(company.getId());
+        employeeRepository.save(employee).block();
+
+        // When & Then
+        webTestClient.get().uri("/companies/{companyId}", company.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.companyName").isEqualTo("OOCL")
+                .jsonPath("$.employees[0].name").isEqualTo("russ");
+        webTestClient.get().uri("/companies/{companyId}/employees", company.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].name").isEqualTo("russ")
+                .jsonPath("$.items[0].companyId").doesNotExist()
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void should_page_company_employees_by_sort_key_when_get_company_employees_given_limit_and_cursor() {
+        // Given
+        Company company = companyRepository.save(new Company("OOCL")).block();
+        Company otherCompany = companyRepository.save(new Company("COSCO")).block();
+        Flux.just(new Employee("russ", 22, "male", 7000), new Employee("linne", 22, "female", null),
+                new Employee("jeff", 23, "male", 5000), new Employee("nina", 24, "female", 6000))
+                .doOnNext(employee -> employee.setCompanyId(company.getId()))
+                .concatWith(Flux.just(new Employee("tom", 25, "male", 8000)).doOnNext(employee -> employee.setCompanyId(otherCompany.getId())))
+                .concatMap(employeeRepository::save)
+                .blockLast();
+
+        String firstPage = new String(webTestClient.get()
+                .uri("/companies/{companyId}/employees?sort=salary&direction=desc&limit=2", company.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].name").isEqualTo("russ")
+                .jsonPath("$.items[1].name").isEqualTo("nina")
+                .jsonPath("$.nextCursor").isNotEmpty()
+                .returnResult()
+                .getResponseBody(), StandardCharsets.UTF_8);
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        // When & Then
+        webTestClient.get()
+                .uri("/companies/{companyId}/employees?sort=salary&direction=desc&limit=2&after={cursor}", company.getId(), nextCursor).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.items[0].name").isEqualTo("jeff")
+                .jsonPath("$.items[1].name").isEqualTo("linne")
+                .jsonPath("$.nextCursor").doesNotExist();
+        webTestClient.get().uri("/companies/{companyId}/employees?sort=gender", company.getId()).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("sort must be one of id, name, age, salary.");
+    }
+
+    @Test
+    void should_return_not_found_when_find_missing_employee_or_company() {
+        // When & Then
+        webTestClient.get().uri("/employees/{employeeId}", 1).exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee not found");
+        webTestClient.get().uri("/companies/{companyId}/employees", 1).exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Company not found");
+    }
+}
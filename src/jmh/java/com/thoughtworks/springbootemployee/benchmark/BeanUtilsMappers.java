@@ -0,0 +1,48 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.beans.BeanUtils;
+
+import java.util.stream.Collectors;
+
+final class BeanUtilsMappers {
+    private BeanUtilsMappers() {
+    }
+
+    static Employee toEntity(EmployeeRequest employeeRequest) {
+        Employee employee = new Employee();
+        BeanUtils.copyProperties(employeeRequest, employee);
+
+        return employee;
+    }
+
+    static EmployeeResponse toResponse(Employee employee) {
+        EmployeeResponse employeeResponse = new EmployeeResponse();
+        BeanUtils.copyProperties(employee, employeeResponse);
+
+        return employeeResponse;
+    }
+
+    static Company toEntity(CompanyRequest companyRequest) {
+        Company company = new Company();
+        BeanUtils.copyProperties(companyRequest, company);
+
+        return company;
+    }
+
+    static CompanyResponse toResponse(Company company) {
+        CompanyResponse companyResponse = new CompanyResponse();
+        BeanUtils.copyProperties(company, companyResponse, "employees");
+        companyResponse.setEmployees(company.getEmployees()
+                .stream()
+                .map(BeanUtilsMappers::toResponse)
+                .collect(Collectors.toList()));
+
+        return companyResponse;
+    }
+}
@@ -0,0 +1,83 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.search.EmployeeNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Search latency should stay flat from 10k to 1M indexed names; compare the rows per size.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EmployeeNameSearchBenchmark {
+    private static final String[] FIRST_NAMES = {"russ", "barbie", "linne", "jeff", "xavier", "mia", "noah", "olivia", "liam", "emma"};
+    private static final int LIMIT = 21;
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private EmployeeNameIndex employeeNameIndex;
+    private List<String> uniquePrefix;
+    private List<String> commonToken;
+    private List<String> twoTokens;
+    private List<String> singleCharacterPrefix;
+
+    @Setup
+    public void setUp() {
+        employeeNameIndex = new EmployeeNameIndex();
+        for (int id = 1; id <= size; id++) {
+            employeeNameIndex.put(id, FIRST_NAMES[id % FIRST_NAMES.length] + " surname" + id);
+        }
+        uniquePrefix = Collections.singletonList("surname" + (size / 2));
+        commonToken = Collections.singletonList("russ");
+        twoTokens = Arrays.asList("mia", "surname9");
+        // "s" prefixes every distinct surname token, the worst case for prefix expansion
+        singleCharacterPrefix = Collections.singletonList("s");
+    }
+
+    @Benchmark
+    public List<Integer> searchUniquePrefix() {
+        return employeeNameIndex.search(uniquePrefix, 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> searchCommonTokenFirstPage() {
+        return employeeNameIndex.search(commonToken, 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> searchCommonTokenDeepPage() {
+        return employeeNameIndex.search(commonToken, size / 2, LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> searchTwoTokens() {
+        return employeeNameIndex.search(twoTokens, 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> searchSingleCharacterPrefix() {
+        return employeeNameIndex.search(singleCharacterPrefix, 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> searchSingleCharacterPrefixDeepPage() {
+        return employeeNameIndex.search(singleCharacterPrefix, size / 2, LIMIT);
+    }
+}
@@ -0,0 +1,95 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.SpringBootEmployeeApplication;
+import com.thoughtworks.springbootemployee.dto.CursorPage;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+    private static final int EMPLOYEES = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private List<Integer> employeeIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "spring.cache.type=none",
+                        "logging.level.root=WARN")
+                .run();
+        employeeService = context.getBean(EmployeeService.class);
+        List<Employee> employees = new ArrayList<>();
+        for (int index = 0; index < EMPLOYEES; index++) {
+            employees.add(new Employee("employee" + index, 20 + index % 40, index % 2 == 0 ? "male" : "female", 1000 + index));
+        }
+        employeeService.addEmployees(employees);
+        employeeIds = new ArrayList<>();
+        employeeService.streamEmployees(employee -> employeeIds.add(employee.getId()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee findEmployeeById() {
+        return employeeService.findEmployeeById(randomEmployeeId());
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeeByGender() {
+        return employeeService.findEmployeeByGender("female");
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeesByPagination() {
+        return employeeService.findEmployeesByPagination(ThreadLocalRandom.current().nextInt(EMPLOYEES / 50), 50);
+    }
+
+    @Benchmark
+    public CursorPage<Employee> findEmployeesAfter() {
+        return employeeService.findEmployeesAfter(null, 50);
+    }
+
+    @Benchmark
+    public Employee updateEmployee() {
+        Employee employeeToBeUpdated = new Employee();
+        employeeToBeUpdated.setSalary(ThreadLocalRandom.current().nextInt(1000, 100_000));
+        return employeeService.updateEmployee(randomEmployeeId(), employeeToBeUpdated, null);
+    }
+
+    private Integer randomEmployeeId() {
+        return employeeIds.get(ThreadLocalRandom.current().nextInt(employeeIds.size()));
+    }
+}
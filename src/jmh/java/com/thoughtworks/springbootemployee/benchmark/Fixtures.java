@@ -0,0 +1,17 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+final class Fixtures {
+    private static final String[] GENDERS = {"male", "female"};
+
+    private Fixtures() {
+    }
+
+    static Employee employee(int index) {
+        Employee employee = new Employee("employee" + index, 20 + index % 40, GENDERS[index % 2], 1000 + index);
+        employee.setId(index + 1);
+        employee.setCompanyId(1);
+        return employee;
+    }
+}
@@ -0,0 +1,93 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private EmployeeMapper employeeMapper;
+    private CompanyMapper companyMapper;
+    private Employee employee;
+    private EmployeeRequest employeeRequest;
+    private Company company;
+    private CompanyRequest companyRequest;
+
+    @Setup
+    public void setUp() {
+        employeeMapper = new EmployeeMapper();
+        companyMapper = new CompanyMapper(employeeMapper);
+        employee = Fixtures.employee(1);
+        employeeRequest = new EmployeeRequest("russ", 22, "male", 1000, 1);
+        List<Employee> employees = new ArrayList<>();
+        for (int index = 0; index < 10; index++) {
+            employees.add(Fixtures.employee(index));
+        }
+        company = new Company("OOCL", employees);
+        companyRequest = new CompanyRequest("OOCL");
+    }
+
+    @Benchmark
+    public EmployeeResponse employeeToResponse() {
+        return employeeMapper.toResponse(employee);
+    }
+
+    @Benchmark
+    public Employee employeeToEntity() {
+        return employeeMapper.toEntity(employeeRequest);
+    }
+
+    @Benchmark
+    public CompanyResponse companyWithTenEmployeesToResponse() {
+        return companyMapper.toResponse(company);
+    }
+
+    @Benchmark
+    public Company companyToEntity() {
+        return companyMapper.toEntity(companyRequest);
+    }
+
+    @Benchmark
+    public EmployeeResponse beanUtilsEmployeeToResponse() {
+        return BeanUtilsMappers.toResponse(employee);
+    }
+
+    @Benchmark
+    public Employee beanUtilsEmployeeToEntity() {
+        return BeanUtilsMappers.toEntity(employeeRequest);
+    }
+
+    @Benchmark
+    public CompanyResponse beanUtilsCompanyWithTenEmployeesToResponse() {
+        return BeanUtilsMappers.toResponse(company);
+    }
+
+    @Benchmark
+    public Company beanUtilsCompanyToEntity() {
+        return BeanUtilsMappers.toEntity(companyRequest);
+    }
+}
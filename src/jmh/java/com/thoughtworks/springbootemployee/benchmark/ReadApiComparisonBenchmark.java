@@ -0,0 +1,155 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.SpringBootEmployeeApplication;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Boots the servlet application in the benchmark JVM, as EmployeeServiceBenchmark does, on a fresh file
+// database it seeds. The reactive application cannot share that classpath, so it is started in its own JVM
+// against the same database; ./gradlew jmh passes its classpath. Run with
+//   ./gradlew jmh -PjmhInclude=ReadApiComparisonBenchmark
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadApiComparisonBenchmark {
+    private static final String REACTIVE_CLASSPATH = "reactiveReadApi.classpath";
+    private static final String REACTIVE_APPLICATION = "com.thoughtworks.springbootemployee.reactive.ReactiveReadApiApplication";
+    private static final int EMPLOYEES = 1_000;
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    @Param({"servlet", "reactive"})
+    private String api;
+
+    @Param({"/employees", "/employees/1", "/employees?gender=male", "/employees?pageIndex=0&pageSize=50", "/companies"})
+    private String path;
+
+    private ConfigurableApplicationContext servletApplication;
+    private Process reactiveApplication;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void startApplications() throws IOException, InterruptedException {
+        String reactiveClasspath = System.getProperty(REACTIVE_CLASSPATH);
+        if ("reactive".equals(api) && reactiveClasspath == null) {
+            throw new IllegalStateException("The reactive-read-api classpath is missing; run the benchmark with ./gradlew jmh, "
+                    + "which passes it as -D" + REACTIVE_CLASSPATH + ".");
+        }
+        // The servlet application owns the schema (Flyway), so it starts first in both cases.
+        String database = new File(Files.createTempDirectory("read-api-benchmark").toFile(), "employees").getAbsolutePath();
+        servletApplication = new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:file:" + database + ";AUTO_SERVER=TRUE",
+                        "logging.level.root=WARN")
+                .run();
+        List<Employee> employees = new ArrayList<>();
+        for (int index = 0; index < EMPLOYEES; index++) {
+            Employee employee = new Employee("employee" + index, 20 + index % 40, index % 2 == 0 ? "male" : "female", 1000 + index);
+            employee.setCompanyId(1);
+            employees.add(employee);
+        }
+        servletApplication.getBean(EmployeeService.class).addEmployees(employees);
+        if ("servlet".equals(api)) {
+            baseUrl = "http://localhost:" + servletApplication.getEnvironment().getProperty("local.server.port");
+            return;
+        }
+        int port = freePort();
+        reactiveApplication = new ProcessBuilder(
+                new File(System.getProperty("java.home"), "bin/java").getPath(), "-cp", reactiveClasspath, REACTIVE_APPLICATION,
+                "--server.port=" + port,
+                "--spring.r2dbc.url=r2dbc:h2:file//" + database + "?options=AUTO_SERVER=TRUE",
+                "--logging.level.root=WARN")
+                .inheritIO()
+                .start();
+        baseUrl = "http://localhost:" + port;
+        awaitReactiveApplication();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplications() throws InterruptedException {
+        if (reactiveApplication != null) {
+            reactiveApplication.destroy();
+            reactiveApplication.waitFor();
+        }
+        if (servletApplication != null) {
+            servletApplication.close();
+        }
+    }
+
+    @Benchmark
+    public long get() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestProperty("Accept", "application/json");
+        if (connection.getResponseCode() != 200) {
+            throw new IllegalStateException(baseUrl + path + " returned " + connection.getResponseCode());
+        }
+        long length = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream body = connection.getInputStream()) {
+            for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                length += read;
+            }
+        }
+        return length;
+    }
+
+    private void awaitReactiveApplication() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (!reactiveApplication.isAlive()) {
+                throw new IllegalStateException("reactive-read-api exited with code " + reactiveApplication.exitValue()
+                        + " before answering on " + baseUrl + ".");
+            }
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + "/employees/1").openConnection();
+                if (connection.getResponseCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // keep polling until the deadline
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("reactive-read-api did not answer on " + baseUrl + " within "
+                + TimeUnit.MILLISECONDS.toSeconds(STARTUP_TIMEOUT_MILLIS) + " seconds.");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
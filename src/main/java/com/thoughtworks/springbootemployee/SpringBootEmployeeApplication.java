@@ -2,8 +2,11 @@ package com.thoughtworks.springbootemployee;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
 @SpringBootApplication
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class SpringBootEmployeeApplication {
 
 	public static void main(String[] args) {
@@ -2,11 +2,16 @@ package com.thoughtworks.springbootemployee.advice;
 
 import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.exception.InvalidCsvException;
+import com.thoughtworks.springbootemployee.exception.InvalidQueryParameterException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 public class GlobalControllerAdvice {
 
@@ -22,4 +27,28 @@ public class GlobalControllerAdvice {
         return new ErrorResponse(companyNotFoundException.getMessage(), HttpStatus.NOT_FOUND.toString());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse invalidQueryParameterExceptionHandling(InvalidQueryParameterException invalidQueryParameterException){
+        return new ErrorResponse(invalidQueryParameterException.getMessage(), HttpStatus.BAD_REQUEST.toString());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse invalidCsvExceptionHandling(InvalidCsvException invalidCsvException){
+        return new ErrorResponse(invalidCsvException.getMessage(), HttpStatus.BAD_REQUEST.toString());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorResponse preconditionFailedExceptionHandling(PreconditionFailedException preconditionFailedException){
+        return new ErrorResponse(preconditionFailedException.getMessage(), HttpStatus.PRECONDITION_FAILED.toString());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse rejectedExecutionExceptionHandling(RejectedExecutionException rejectedExecutionException){
+        return new ErrorResponse(rejectedExecutionException.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.toString());
+    }
+
 }
@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.changefeed;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    // Sent instead of events that have already left the ring buffer: the subscriber has to reload.
+    public static final String RESET = "reset";
+
+    private final long sequence;
+    private final String type;
+    private final Integer id;
+    private final Integer companyId;
+
+    public ChangeEvent(long sequence, String type, Integer id, Integer companyId) {
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+        this.companyId = companyId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+}
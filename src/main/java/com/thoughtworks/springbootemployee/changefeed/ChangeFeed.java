@@ -0,0 +1,227 @@
+package com.thoughtworks.springbootemployee.changefeed;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Subscribers are async requests, not threads: publishing only offers an event to each subscriber's
+// bounded queue, and a small fan-out pool writes out whichever queues have events, one drain at a time
+// per subscriber and at most DRAIN_BATCH events per turn. A subscriber whose queue overflows is sent
+// `reset` instead of what it missed, and dropped if it overflows again before reading that. The last
+// `capacity` events stay in a ring buffer so that a reconnecting client can resume from its Last-Event-ID.
+public class ChangeFeed implements Closeable {
+    private static final int DRAIN_BATCH = 64;
+    private static final long NO_RESET = -1;
+
+    private final ChangeEvent[] ring;
+    private final long subscriptionTimeoutMillis;
+    private final int subscriberQueueSize;
+    private final ExecutorService fanOut;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Sequences start over with every instance, so event ids carry the epoch they were numbered in.
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private volatile long lastSequence;
+
+    public ChangeFeed(String name, int capacity, long subscriptionTimeoutMillis, int subscriberQueueSize, int fanOutThreads) {
+        this.ring = new ChangeEvent[capacity];
+        this.subscriptionTimeoutMillis = subscriptionTimeoutMillis;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.fanOut = Executors.newFixedThreadPool(fanOutThreads, new CustomizableThreadFactory(name + "-changes-"));
+    }
+
+    public void publish(String type, Integer id, Integer companyId) {
+        synchronized (ring) {
+            long sequence = lastSequence + 1;
+            ChangeEvent event = new ChangeEvent(sequence, type, id, companyId);
+            ring[slot(sequence)] = event;
+            lastSequence = sequence;
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+        subscribers.forEach(this::scheduleDrain);
+    }
+
+    // Ids from another epoch, or ones this epoch has not handed out, are answered with `reset`.
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(subscriptionTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, subscriberQueueSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        synchronized (ring) {
+            long head = lastSequence;
+            long lastSentSequence = lastEventId == null ? head : sequenceOf(lastEventId);
+            if (!queueMissedEvents(subscriber, lastSentSequence, head)) {
+                subscriber.queue.clear();
+                subscriber.resetSequence.set(head);
+            }
+            subscribers.add(subscriber);
+        }
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    public int countSubscribers() {
+        return subscribers.size();
+    }
+
+    // Idle connections would otherwise only be noticed as broken when the next change happens.
+    @Scheduled(fixedDelayString = "${employee.changes.heartbeat-interval:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue.set(true);
+            scheduleDrain(subscriber);
+        });
+    }
+
+    @Override
+    public void close() {
+        fanOut.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private boolean queueMissedEvents(Subscriber subscriber, long lastSentSequence, long head) {
+        if (lastSentSequence < 0 || lastSentSequence > head || head - lastSentSequence > subscriberQueueSize) {
+            return false;
+        }
+        for (long sequence = lastSentSequence + 1; sequence <= head; sequence++) {
+            ChangeEvent event = eventAt(sequence);
+            if (event == null) {
+                return false;
+            }
+            subscriber.queue.add(event);
+        }
+        return true;
+    }
+
+    private long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return NO_RESET;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException exception) {
+            return NO_RESET;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.drainScheduled.compareAndSet(false, true)) {
+            fanOut.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Only one drain per subscriber is scheduled or running at a time; one with more left to send goes
+    // back to the end of the pool's queue so that the other subscribers get their turn.
+    private void drain(Subscriber subscriber) {
+        try {
+            deliver(subscriber);
+        } finally {
+            subscriber.drainScheduled.set(false);
+            if ((subscriber.dropped || subscribers.contains(subscriber)) && subscriber.hasPendingWork()) {
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        if (subscriber.dropped) {
+            subscriber.closed = true;
+            subscriber.emitter.complete();
+            return;
+        }
+        long resetSequence = subscriber.resetSequence.getAndSet(NO_RESET);
+        if (resetSequence != NO_RESET) {
+            ChangeEvent reset = new ChangeEvent(resetSequence, ChangeEvent.RESET, null, null);
+            if (!send(subscriber, SseEmitter.event().id(eventId(resetSequence)).name(ChangeEvent.RESET).data(reset))) {
+                return;
+            }
+        }
+        for (int sent = 0; sent < DRAIN_BATCH; sent++) {
+            ChangeEvent event = subscriber.queue.poll();
+            if (event == null) {
+                break;
+            }
+            if (!send(subscriber, SseEmitter.event().id(eventId(event.getSequence())).name(event.getType()).data(event))) {
+                return;
+            }
+        }
+        if (subscriber.heartbeatDue.getAndSet(false)) {
+            send(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private ChangeEvent eventAt(long sequence) {
+        ChangeEvent event = ring[slot(sequence)];
+        return event != null && event.getSequence() == sequence ? event : null;
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException exception) {
+            // the container reports the broken connection to the emitter itself
+            subscribers.remove(subscriber);
+            return false;
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) Math.floorMod(sequence, (long) ring.length);
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEvent> queue;
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicLong resetSequence = new AtomicLong(NO_RESET);
+        private volatile boolean dropped;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int queueSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        // Called with the ring locked, so offers never race each other; completing the emitter is left to
+        // the drain, since the publisher must not wait for a send in progress.
+        private void offer(ChangeEvent event) {
+            if (queue.offer(event)) {
+                return;
+            }
+            if (resetSequence.get() != NO_RESET) {
+                dropped = true;
+                subscribers.remove(this);
+                scheduleDrain(this);
+                return;
+            }
+            queue.clear();
+            resetSequence.set(event.getSequence());
+        }
+
+        private boolean hasPendingWork() {
+            if (dropped) {
+                return !closed;
+            }
+            return !queue.isEmpty() || resetSequence.get() != NO_RESET || heartbeatDue.get();
+        }
+    }
+}
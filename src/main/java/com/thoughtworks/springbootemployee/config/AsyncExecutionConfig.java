@@ -0,0 +1,69 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.datasource.PrimaryReads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "employee.async.enabled", havingValue = "true")
+public class AsyncExecutionConfig implements WebMvcConfigurer {
+    public static final String DATABASE_EXECUTOR = "databaseExecutor";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncExecutionConfig.class);
+
+    @Value("${employee.async.max-concurrency:32}")
+    private int maxConcurrency;
+    @Value("${employee.async.queue-capacity:1000}")
+    private int queueCapacity;
+    @Value("${employee.async.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    // Handlers hand their database work back as a Callable (see DatabaseCalls), which Spring MVC's async
+    // support runs on the database executor while the request thread goes back to Tomcat.
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        ConcurrentTaskExecutor taskExecutor = new ConcurrentTaskExecutor(databaseExecutor());
+        taskExecutor.setTaskDecorator(PrimaryReads::propagate);
+        configurer.setTaskExecutor(taskExecutor);
+    }
+
+    // The destroy method is inferred, so the executor is shut down with the context.
+    @Bean(name = DATABASE_EXECUTOR)
+    public Executor databaseExecutor() {
+        ExecutorService virtualThreadExecutor = virtualThreads ? newVirtualThreadPerTaskExecutor() : null;
+        if (virtualThreadExecutor != null) {
+            LOGGER.info("Running database work on virtual threads (max concurrency {})", maxConcurrency);
+            return new BoundedVirtualThreadExecutor(virtualThreadExecutor, maxConcurrency, queueCapacity);
+        }
+        LOGGER.info("Running database work on a platform thread pool (size {})", maxConcurrency);
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("db-"), new ThreadPoolExecutor.AbortPolicy());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    private ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException exception) {
+            return null;
+        }
+    }
+}
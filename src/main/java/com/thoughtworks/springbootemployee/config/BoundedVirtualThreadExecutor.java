@@ -0,0 +1,43 @@
+package com.thoughtworks.springbootemployee.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+public class BoundedVirtualThreadExecutor implements Executor {
+    private final ExecutorService virtualThreadExecutor;
+    private final Semaphore admitted;
+    private final Semaphore running;
+
+    public BoundedVirtualThreadExecutor(ExecutorService virtualThreadExecutor, int maxConcurrency, int queueCapacity) {
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.admitted = new Semaphore(maxConcurrency + queueCapacity);
+        this.running = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!admitted.tryAcquire()) {
+            throw new RejectedExecutionException("Database executor is saturated.");
+        }
+        try {
+            virtualThreadExecutor.execute(() -> {
+                running.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    running.release();
+                    admitted.release();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            admitted.release();
+            throw exception;
+        }
+    }
+
+    public void shutdown() {
+        virtualThreadExecutor.shutdown();
+    }
+}
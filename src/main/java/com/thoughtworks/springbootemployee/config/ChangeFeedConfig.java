@@ -0,0 +1,44 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.changefeed.ChangeFeed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class ChangeFeedConfig {
+    public static final String EMPLOYEE_CHANGES = "employeeChangeFeed";
+    public static final String COMPANY_CHANGES = "companyChangeFeed";
+
+    @Value("${employee.changes.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${employee.changes.subscription-timeout:1800000}")
+    private long subscriptionTimeoutMillis;
+
+    @Value("${employee.changes.subscriber-queue-size:1000}")
+    private int subscriberQueueSize;
+
+    @Value("${employee.changes.fan-out-threads:2}")
+    private int fanOutThreads;
+
+    @Bean(name = EMPLOYEE_CHANGES, destroyMethod = "close")
+    public ChangeFeed employeeChangeFeed(MeterRegistry meterRegistry) {
+        return changeFeed("employees", meterRegistry);
+    }
+
+    @Bean(name = COMPANY_CHANGES, destroyMethod = "close")
+    public ChangeFeed companyChangeFeed(MeterRegistry meterRegistry) {
+        return changeFeed("companies", meterRegistry);
+    }
+
+    private ChangeFeed changeFeed(String name, MeterRegistry meterRegistry) {
+        ChangeFeed changeFeed = new ChangeFeed(name, bufferSize, subscriptionTimeoutMillis, subscriberQueueSize, fanOutThreads);
+        Gauge.builder("changes.subscribers", changeFeed, ChangeFeed::countSubscribers).tag("feed", name).register(meterRegistry);
+        return changeFeed;
+    }
+}
@@ -0,0 +1,64 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.limiter.AdaptiveConcurrencyLimit;
+import com.thoughtworks.springbootemployee.limiter.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@ConditionalOnProperty(name = "employee.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+    private static final String PREFIX = "employee.concurrency-limit.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitConfig(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit readConcurrencyLimit() {
+        return concurrencyLimit("read", 50, 5, 200, 250);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit writeConcurrencyLimit() {
+        return concurrencyLimit("write", 20, 2, 100, 500);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit bulkConcurrencyLimit() {
+        return concurrencyLimit("bulk", 2, 1, 8, 60000);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ObjectMapper objectMapper,
+                                                                                 @Value("${employee.concurrency-limit.retry-after:1}") long retryAfterSeconds) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(new ConcurrencyLimitFilter(
+                readConcurrencyLimit(), writeConcurrencyLimit(), bulkConcurrencyLimit(), retryAfterSeconds, objectMapper));
+        registration.addUrlPatterns("/employees/*", "/companies/*");
+        return registration;
+    }
+
+    private AdaptiveConcurrencyLimit concurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, long latencyTargetMillis) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(name,
+                environment.getProperty(PREFIX + name + ".initial-limit", Integer.class, initialLimit),
+                environment.getProperty(PREFIX + name + ".min-limit", Integer.class, minLimit),
+                environment.getProperty(PREFIX + name + ".max-limit", Integer.class, maxLimit),
+                environment.getProperty(PREFIX + name + ".latency-target", Long.class, latencyTargetMillis));
+        Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit).tag("class", name).register(meterRegistry);
+        Gauge.builder("http.concurrency.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight).tag("class", name).register(meterRegistry);
+        FunctionCounter.builder("http.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected).tag("class", name).register(meterRegistry);
+        return limit;
+    }
+}
@@ -0,0 +1,26 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import com.thoughtworks.springbootemployee.writebehind.EmployeeUpdateJournal;
+import com.thoughtworks.springbootemployee.writebehind.EmployeeWriteBehind;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class WriteBehindConfig {
+    @Bean(destroyMethod = "close")
+    public EmployeeWriteBehind employeeWriteBehind(EmployeeService employeeService, ObjectMapper objectMapper,
+                                                   @Value("${employee.write-behind.journal-dir:./h2/write-behind}") String journalDirectory,
+                                                   @Value("${employee.write-behind.max-pending:10000}") int maxPendingEmployees) throws IOException {
+        return new EmployeeWriteBehind(employeeService, new EmployeeUpdateJournal(Paths.get(journalDirectory), objectMapper), maxPendingEmployees);
+    }
+}
@@ -1,12 +1,30 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.thoughtworks.springbootemployee.changefeed.ChangeFeed;
+import com.thoughtworks.springbootemployee.config.ChangeFeedConfig;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeBatchResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.etag.ETags;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
 import com.thoughtworks.springbootemployee.model.Company;
-import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.service.CompanyService;
+import com.thoughtworks.springbootemployee.service.ModificationCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/companies")
@@ -14,43 +32,116 @@ public class CompanyController {
 
     private CompanyService companyService;
 
+    @Autowired
+    private CompanyMapper companyMapper;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private ModificationCounter modificationCounter;
+
+    @Autowired
+    @Qualifier(ChangeFeedConfig.COMPANY_CHANGES)
+    private ChangeFeed companyChangeFeed;
+
+    @Autowired
+    private DatabaseCalls databaseCalls;
+
+    @Autowired
+    private TaggedReads taggedReads;
+
     public CompanyController(CompanyService companyService) {
         this.companyService = companyService;
     }
 
     @GetMapping
-    public List<Company> findCompanies() {
-        return companyService.findCompanies();
+    public Object findCompanies(WebRequest request) {
+        return taggedReads.call(request, companyService::findCompanies, ETags::ofCompanies, this::toResponses);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Company addCompany(@RequestBody Company company) {
-        return companyService.addCompany(company);
+    public Object addCompany(@RequestBody Company company) {
+        return databaseCalls.call(() -> companyMapper.toResponse(companyService.addCompany(company)));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCompanyChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+        return companyChangeFeed.subscribe(lastEventId);
     }
 
     @GetMapping("/{companyId}")
-    public Company findCompanyById(@PathVariable Integer companyId){
-        return companyService.findCompanyById(companyId);
+    public Object findCompanyById(@PathVariable Integer companyId, WebRequest request){
+        if (!taggedReads.fromPrimary()) {
+            return databaseCalls.call(() -> {
+                Company company = companyService.findCompanyById(companyId);
+                return ResponseEntity.ok()
+                        .eTag(ETags.ofCompanies(Collections.singletonList(company)))
+                        .body(companyMapper.toResponse(company));
+            });
+        }
+        long companyRevision = modificationCounter.companyRevision(companyId);
+        return databaseCalls.call(() -> companyService.findCompanyIfModified(companyId, version -> request.checkNotModified(ETags.ofCompany(version, companyRevision)))
+                .map(company -> ResponseEntity.ok()
+                        .eTag(ETags.ofCompany(company.getVersion(), companyRevision))
+                        .body(companyMapper.toResponse(company)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+    }
+
+    @GetMapping("/{companyId}/stats")
+    public Object findCompanyStats(@PathVariable Integer companyId){
+        return databaseCalls.call(() -> companyService.findCompanyStats(companyId));
     }
 
     @PutMapping("/{companyId}")
-    public Company updateCompany(@PathVariable Integer companyId, @RequestBody Company companyToBeUpdated) {
-        return companyService.updateCompany(companyId, companyToBeUpdated);
+    public Object updateCompany(@PathVariable Integer companyId, @RequestBody Company companyToBeUpdated,
+                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.versionOf(ifMatch);
+        return databaseCalls.call(() -> companyMapper.toResponse(
+                companyService.updateCompany(companyId, companyToBeUpdated, expectedVersion)));
     }
 
     @DeleteMapping("/{companyId}")
-    public void deleteCompany(@PathVariable Integer companyId) {
-        companyService.deleteCompany(companyId);
+    public Object deleteCompany(@PathVariable Integer companyId, @RequestParam(defaultValue = "delete") String employees,
+                                @RequestParam(required = false) Integer targetCompanyId) {
+        return databaseCalls.call(() -> {
+            companyService.deleteCompany(companyId, employees, targetCompanyId);
+            return ResponseEntity.ok().build();
+        });
     }
 
     @GetMapping("/{companyId}/employees")
-    public List<Employee> getCompanyEmployees(@PathVariable Integer companyId) {
-        return companyService.getCompanyEmployees(companyId);
+    public Object getCompanyEmployees(@PathVariable Integer companyId, EmployeeQuery employeeQuery) {
+        return databaseCalls.call(() -> companyService.getCompanyEmployees(companyId, employeeQuery).map(employeeMapper::toResponse));
+    }
+
+    @PostMapping("/{companyId}/employees/batch")
+    public Object addCompanyEmployees(@PathVariable Integer companyId, @RequestBody List<EmployeeRequest> employeeRequests) {
+        return databaseCalls.call(() -> {
+            EmployeeBatchResponse employeeBatchResponse = companyService.addCompanyEmployees(companyId, employeeRequests.stream()
+                    .map(employeeMapper::toEntity)
+                    .collect(Collectors.toList()));
+            return ResponseEntity.status(employeeBatchResponse.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                    .body(employeeBatchResponse);
+        });
     }
 
     @GetMapping(params = {"pageIndex", "pageSize"})
-    public List<Company> findCompaniesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize){
-        return companyService.findCompaniesByPagination(pageIndex, pageSize);
+    public Object findCompaniesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize, WebRequest request){
+        return taggedReads.call(request, () -> companyService.findCompaniesByPagination(pageIndex, pageSize),
+                ETags::ofCompanies, this::toResponses);
+    }
+
+    @GetMapping(params = "limit")
+    public Object findCompaniesByCursor(@RequestParam(required = false) String after, @RequestParam Integer limit, WebRequest request){
+        return taggedReads.call(request, () -> companyService.findCompaniesAfter(after, limit),
+                page -> ETags.ofCompanies(page.getItems()), page -> page.map(companyMapper::toResponse));
+    }
+
+    private List<CompanyResponse> toResponses(List<Company> companies) {
+        return companies.stream()
+                .map(companyMapper::toResponse)
+                .collect(Collectors.toList());
     }
 }
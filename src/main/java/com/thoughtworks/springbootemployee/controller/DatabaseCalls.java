@@ -0,0 +1,27 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+// Handlers return what call returns. With employee.async.enabled on that is a Callable, which Spring MVC runs
+// on the database executor configured in AsyncExecutionConfig; with it off the work runs on the request thread
+// and its result is returned as is.
+@Component
+public class DatabaseCalls {
+    private final boolean async;
+
+    public DatabaseCalls(@Value("${employee.async.enabled:false}") boolean async) {
+        this.async = async;
+    }
+
+    public Object call(Supplier<?> work) {
+        if (!async) {
+            return work.get();
+        }
+        Callable<?> callable = work::get;
+        return callable;
+    }
+}
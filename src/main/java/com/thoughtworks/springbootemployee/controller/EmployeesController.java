@@ -1,14 +1,41 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.changefeed.ChangeFeed;
+import com.thoughtworks.springbootemployee.config.ChangeFeedConfig;
+import com.thoughtworks.springbootemployee.csv.EmployeeCsv;
 import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.dto.EmployeeBatchResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeImportResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.etag.ETags;
 import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.service.EmployeeJsonCache;
 import com.thoughtworks.springbootemployee.service.EmployeeService;
+import com.thoughtworks.springbootemployee.writebehind.EmployeeWriteBehind;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,6 +43,7 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/employees")
 public class EmployeesController {
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
 
     private List<Employee> employees = new ArrayList<>();
     private EmployeeService employeeService;
@@ -23,52 +51,161 @@ public class EmployeesController {
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeJsonCache employeeJsonCache;
+
+    @Autowired(required = false)
+    private EmployeeWriteBehind employeeWriteBehind;
+
+    @Autowired
+    @Qualifier(ChangeFeedConfig.EMPLOYEE_CHANGES)
+    private ChangeFeed employeeChangeFeed;
+
+    @Autowired
+    private DatabaseCalls databaseCalls;
+
+    @Autowired
+    private TaggedReads taggedReads;
+
     public EmployeesController(EmployeeService employeeService) {
         this.employeeService = employeeService;
     }
 
     @GetMapping
-    public List<EmployeeResponse> findEmployees() {
-        return employeeService.findEmployees()
-                .stream()
-                .map(employeeMapper::toResponse)
-                .collect(Collectors.toList());
+    public Object findEmployees(WebRequest request) {
+        return taggedReads.call(request, employeeService::findEmployees, ETags::ofEmployees, employeeJsonCache::toJsonArray);
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public void streamEmployees(HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        employeeService.streamEmployees(employee -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(employeeMapper.toResponse(employee)));
+                outputStream.write('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+        outputStream.flush();
+    }
+
+    @GetMapping(value = "/export.csv", produces = EmployeeCsv.MEDIA_TYPE)
+    public void exportEmployees(HttpServletResponse response) throws IOException {
+        response.setContentType(EmployeeCsv.MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\"");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        writer.write(EmployeeCsv.HEADER);
+        writer.write('\n');
+        employeeService.streamEmployees(employee -> {
+            try {
+                writer.write(EmployeeCsv.toLine(employee));
+                writer.write('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+        writer.flush();
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+        return employeeChangeFeed.subscribe(lastEventId);
     }
 
     @GetMapping("/{employeeId}")
-    public EmployeeResponse findEmployeeById(@PathVariable Integer employeeId){
-        return employeeMapper.toResponse(employeeService.findEmployeeById(employeeId));
+    public Object findEmployeeById(@PathVariable Integer employeeId, WebRequest request){
+        return databaseCalls.call(() -> employeeService.findEmployeeIfModified(employeeId, version -> request.checkNotModified(ETags.ofVersion(version)))
+                .map(this::withVersion)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
     }
 
     @GetMapping(params = "gender")
-    public List<EmployeeResponse> findEmployeeByGender(@RequestParam String gender){
-        return employeeService.findEmployeeByGender(gender)
-                .stream()
-                .map(employeeMapper::toResponse)
-                .collect(Collectors.toList());
+    public Object findEmployeeByGender(@RequestParam String gender, WebRequest request){
+        return taggedReads.call(request, () -> employeeService.findEmployeeByGender(gender), ETags::ofEmployees, employeeJsonCache::toJsonArray);
+    }
+
+    @GetMapping("/stats")
+    public Object findSalaryStats(@RequestParam String groupBy){
+        return databaseCalls.call(() -> employeeService.findSalaryStats(groupBy));
     }
 
     @GetMapping(params = {"pageIndex", "pageSize"})
-    public List<EmployeeResponse> findEmployeesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize){
-        return employeeService.findEmployeesByPagination(pageIndex, pageSize)
-                .stream()
-                .map(employeeMapper::toResponse)
-                .collect(Collectors.toList());
+    public Object findEmployeesByPagination(@RequestParam Integer pageIndex, @RequestParam Integer pageSize, WebRequest request){
+        return taggedReads.call(request, () -> employeeService.findEmployeesByPagination(pageIndex, pageSize),
+                ETags::ofEmployees, employeeJsonCache::toJsonArray);
+    }
+
+    @GetMapping("/query")
+    public Object queryEmployees(EmployeeQuery employeeQuery){
+        return databaseCalls.call(() -> employeeService.queryEmployees(employeeQuery).map(employeeMapper::toResponse));
+    }
+
+    @GetMapping("/search")
+    public Object searchEmployees(@RequestParam String q, @RequestParam(required = false) String after,
+                                  @RequestParam(defaultValue = "20") Integer limit){
+        return databaseCalls.call(() -> employeeService.searchEmployees(q, after, limit).map(employeeMapper::toResponse));
+    }
+
+    @GetMapping(params = "limit")
+    public Object findEmployeesByCursor(@RequestParam(required = false) String after, @RequestParam Integer limit, WebRequest request){
+        return taggedReads.call(request, () -> employeeService.findEmployeesAfter(after, limit),
+                page -> ETags.ofEmployees(page.getItems()), page -> page.map(employeeMapper::toResponse));
     }
 
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
-    public EmployeeResponse addEmployee(@RequestBody EmployeeRequest employeeRequest) {
-        return employeeMapper.toResponse(employeeService.addEmployee(employeeMapper.toEntity(employeeRequest)));
+    public Object addEmployee(@RequestBody EmployeeRequest employeeRequest) {
+        return databaseCalls.call(() -> employeeMapper.toResponse(employeeService.addEmployee(employeeMapper.toEntity(employeeRequest))));
+    }
+
+    @PostMapping("/batch")
+    public Object addEmployees(@RequestBody List<EmployeeRequest> employeeRequests) {
+        return databaseCalls.call(() -> {
+            EmployeeBatchResponse employeeBatchResponse = employeeService.addEmployees(employeeRequests.stream()
+                    .map(employeeMapper::toEntity)
+                    .collect(Collectors.toList()));
+            return ResponseEntity.status(employeeBatchResponse.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                    .body(employeeBatchResponse);
+        });
+    }
+
+    @PostMapping(value = "/import", consumes = EmployeeCsv.MEDIA_TYPE)
+    public ResponseEntity<EmployeeImportResponse> importEmployees(InputStream csv) throws IOException {
+        EmployeeImportResponse employeeImportResponse = employeeService.importEmployees(
+                new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+        return ResponseEntity.status(employeeImportResponse.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(employeeImportResponse);
     }
 
     @PutMapping("/{employeeId}")
-    public EmployeeResponse updateEmployee(@PathVariable Integer employeeId, @RequestBody EmployeeRequest employeeRequest) {
-        return  employeeMapper.toResponse(employeeService.updateEmployee(employeeId, employeeMapper.toEntity(employeeRequest)));
+    public Object updateEmployee(@PathVariable Integer employeeId, @RequestBody EmployeeRequest employeeRequest,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.versionOf(ifMatch);
+        return databaseCalls.call(() -> withVersion(employeeWriteBehind != null && expectedVersion == null
+                ? employeeWriteBehind.enqueue(employeeId, employeeMapper.toEntity(employeeRequest))
+                : employeeService.updateEmployee(employeeId, employeeMapper.toEntity(employeeRequest), expectedVersion)));
     }
 
     @DeleteMapping("/{employeeId}")
-    public void deleteEmployee(@PathVariable Integer employeeId) {
-        employeeService.deleteEmployee(employeeId);
+    public Object deleteEmployee(@PathVariable Integer employeeId) {
+        return databaseCalls.call(() -> {
+            employeeService.deleteEmployee(employeeId);
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    // An employee with queued write-behind updates has no version to tag it with.
+    private ResponseEntity<EmployeeResponse> withVersion(Employee employee) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (employee.getVersion() != null) {
+            response.eTag(ETags.ofVersion(employee.getVersion()));
+        }
+        return response.body(employeeMapper.toResponse(employee));
     }
 }
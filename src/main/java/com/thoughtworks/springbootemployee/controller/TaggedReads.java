@@ -0,0 +1,46 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.datasource.PrimaryReads;
+import com.thoughtworks.springbootemployee.datasource.ReplicaPool;
+import com.thoughtworks.springbootemployee.etag.ETags;
+import com.thoughtworks.springbootemployee.service.ModificationCounter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Revision ETags count the commits made on the primary, so they answer If-None-Match before anything is read
+// but only describe what the primary returns. Reads served by a replica are tagged from the rows it returned
+// instead; without replicas, or for a session pinned to the primary, the revision tags are kept.
+@Component
+public class TaggedReads {
+    private final ModificationCounter modificationCounter;
+    private final DatabaseCalls databaseCalls;
+    private final boolean replicas;
+
+    public TaggedReads(ModificationCounter modificationCounter, DatabaseCalls databaseCalls, ObjectProvider<ReplicaPool> replicaPool) {
+        this.modificationCounter = modificationCounter;
+        this.databaseCalls = databaseCalls;
+        this.replicas = replicaPool.getIfAvailable() != null;
+    }
+
+    public boolean fromPrimary() {
+        return !replicas || PrimaryReads.isPinned();
+    }
+
+    public <T> Object call(WebRequest request, Supplier<T> reads, Function<T, String> eTagOf, Function<T, ?> toBody) {
+        if (fromPrimary()) {
+            if (request.checkNotModified(ETags.ofRevision(modificationCounter.currentRevision()))) {
+                return null;
+            }
+            return databaseCalls.call(() -> toBody.apply(reads.get()));
+        }
+        return databaseCalls.call(() -> {
+            T rows = reads.get();
+            return ResponseEntity.ok().eTag(eTagOf.apply(rows)).body(toBody.apply(rows));
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.thoughtworks.springbootemployee.converter;
+
+import com.thoughtworks.springbootemployee.dto.EmployeeJsonArray;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public class EmployeeJsonArrayHttpMessageConverter extends AbstractHttpMessageConverter<EmployeeJsonArray> {
+
+    public EmployeeJsonArrayHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EmployeeJsonArray.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EmployeeJsonArray readInternal(Class<? extends EmployeeJsonArray> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("EmployeeJsonArray is write-only.", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(EmployeeJsonArray employeeJsonArray, MediaType contentType) {
+        List<byte[]> elements = employeeJsonArray.getElements();
+        long length = 2 + Math.max(elements.size() - 1, 0);
+        for (byte[] element : elements) {
+            length += element.length;
+        }
+        return length;
+    }
+
+    @Override
+    protected void writeInternal(EmployeeJsonArray employeeJsonArray, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        body.write('[');
+        List<byte[]> elements = employeeJsonArray.getElements();
+        for (int index = 0; index < elements.size(); index++) {
+            if (index > 0) {
+                body.write(',');
+            }
+            body.write(elements.get(index));
+        }
+        body.write(']');
+    }
+}
@@ -0,0 +1,70 @@
+package com.thoughtworks.springbootemployee.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Quoted fields may contain line breaks (EmployeeCsv.toLine quotes names with \n or \r), so a record
+// ends at the first line break outside quotes rather than at the end of a physical line.
+public class CsvRecordReader {
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int lineNumber;
+    private int recordLineNumber;
+    private int peeked = NONE;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public String readRecord() throws IOException {
+        int character = read();
+        if (character < 0) {
+            return null;
+        }
+        recordLineNumber = lineNumber + 1;
+        StringBuilder record = new StringBuilder();
+        boolean quoted = false;
+        for (; character >= 0; character = read()) {
+            if (character == '\n' || character == '\r') {
+                boolean crlf = character == '\r' && peek() == '\n';
+                if (!quoted) {
+                    if (crlf) {
+                        read();
+                    }
+                    lineNumber++;
+                    return record.toString();
+                }
+                if (!crlf) {
+                    lineNumber++;
+                }
+            } else if (character == '"') {
+                quoted = !quoted;
+            }
+            record.append((char) character);
+        }
+        lineNumber++;
+        return record.toString();
+    }
+
+    // Physical line on which the last record returned by readRecord started, counting from 1.
+    public int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    private int read() throws IOException {
+        if (peeked != NONE) {
+            int character = peeked;
+            peeked = NONE;
+            return character;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == NONE) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+}
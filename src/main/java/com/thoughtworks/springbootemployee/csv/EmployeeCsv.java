@@ -0,0 +1,125 @@
+package com.thoughtworks.springbootemployee.csv;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class EmployeeCsv {
+    public static final String MEDIA_TYPE = "text/csv";
+    public static final List<String> COLUMNS = Collections.unmodifiableList(Arrays.asList("id", "name", "age", "gender", "salary", "companyId"));
+    public static final String HEADER = String.join(",", COLUMNS);
+
+    private EmployeeCsv() {
+    }
+
+    public static String toLine(Employee employee) {
+        return String.join(",",
+                format(employee.getId()),
+                escape(employee.getName()),
+                format(employee.getAge()),
+                escape(employee.getGender()),
+                format(employee.getSalary()),
+                format(employee.getCompanyId()));
+    }
+
+    public static Map<String, Integer> columnIndexes(String headerLine) {
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        List<String> columns = parseLine(headerLine);
+        for (int index = 0; index < columns.size(); index++) {
+            String column = columns.get(index).trim();
+            if (!COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown column \"" + column + "\". Expected columns are " + HEADER + ".");
+            }
+            columnIndexes.put(column, index);
+        }
+        if (!columnIndexes.containsKey("name")) {
+            throw new IllegalArgumentException("Column \"name\" is required.");
+        }
+        return columnIndexes;
+    }
+
+    public static Employee toEmployee(String line, Map<String, Integer> columnIndexes) {
+        List<String> fields = parseLine(line);
+        if (fields.size() != columnIndexes.size()) {
+            throw new IllegalArgumentException("Expected " + columnIndexes.size() + " fields but found " + fields.size() + ".");
+        }
+        String name = text(fields, columnIndexes, "name");
+        if (name == null) {
+            throw new IllegalArgumentException("Field \"name\" is required.");
+        }
+        Employee employee = new Employee(name, number(fields, columnIndexes, "age"), text(fields, columnIndexes, "gender"),
+                number(fields, columnIndexes, "salary"));
+        employee.setCompanyId(number(fields, columnIndexes, "companyId"));
+        return employee;
+    }
+
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < line.length(); index++) {
+            char character = line.charAt(index);
+            if (quoted) {
+                if (character != '"') {
+                    field.append(character);
+                } else if (index + 1 < line.length() && line.charAt(index + 1) == '"') {
+                    field.append('"');
+                    index++;
+                } else {
+                    quoted = false;
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(character);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String text(List<String> fields, Map<String, Integer> columnIndexes, String column) {
+        Integer index = columnIndexes.get(column);
+        if (index == null || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static Integer number(List<String> fields, Map<String, Integer> columnIndexes, String column) {
+        String value = text(fields, columnIndexes, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Field \"" + column + "\" must be a whole number but was \"" + value + "\".");
+        }
+    }
+
+    private static String format(Integer value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.datasource;
+
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    // The pin is a thread local set on the request thread, so work handed to an executor is wrapped on the
+    // submitting thread to carry it over to the thread that runs it.
+    public static Runnable propagate(Runnable task) {
+        if (!isPinned()) {
+            return task;
+        }
+        return () -> {
+            if (isPinned()) {
+                task.run();
+                return;
+            }
+            pin();
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+
+    static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PINNED.remove();
+    }
+}
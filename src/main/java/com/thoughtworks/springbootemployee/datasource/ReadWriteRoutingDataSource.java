@@ -0,0 +1,34 @@
+package com.thoughtworks.springbootemployee.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// The lookup key is resolved when a connection is taken, so this must sit behind a
+// LazyConnectionDataSourceProxy: only then is the read-only flag of the transaction already set.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+
+    private final ReplicaPool replicaPool;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+        Map<Object, Object> targetDataSources = new HashMap<>(replicaPool.getDataSources());
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryReads.isPinned()) {
+            return PRIMARY;
+        }
+        String replica = replicaPool.nextHealthyReplica();
+        return replica == null ? PRIMARY : replica;
+    }
+}
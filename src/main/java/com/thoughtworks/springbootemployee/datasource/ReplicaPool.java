@@ -0,0 +1,92 @@
+package com.thoughtworks.springbootemployee.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class ReplicaPool implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaPool.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<HikariDataSource> dataSources) {
+        this.replicas = dataSources.stream().map(Replica::new).collect(Collectors.toList());
+        checkHealth();
+    }
+
+    public Map<String, DataSource> getDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.getName(), replica.dataSource));
+        return dataSources;
+    }
+
+    // Round-robin over the replicas, skipping the ones that failed their last check; null when none is up.
+    public String nextHealthyReplica() {
+        int start = next.getAndIncrement();
+        for (int offset = 0; offset < replicas.size(); offset++) {
+            Replica replica = replicas.get(Math.floorMod(start + offset, replicas.size()));
+            if (replica.healthy) {
+                return replica.getName();
+            }
+        }
+        return null;
+    }
+
+    public long countHealthy() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.datasource.replicas.health-check-interval:5000}")
+    public void checkHealth() {
+        replicas.forEach(Replica::check);
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String getName() {
+            return dataSource.getPoolName();
+        }
+
+        void check() {
+            boolean wasHealthy = healthy;
+            healthy = isValid();
+            if (wasHealthy && !healthy) {
+                LOGGER.warn("Read replica {} failed its health check, routing its reads elsewhere", getName());
+            } else if (!wasHealthy && healthy) {
+                LOGGER.info("Read replica {} is healthy again", getName());
+            }
+        }
+
+        private boolean isValid() {
+            try (Connection connection = dataSource.getConnection()) {
+                return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException exception) {
+                return false;
+            }
+        }
+    }
+}
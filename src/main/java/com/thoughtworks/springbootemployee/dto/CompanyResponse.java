@@ -1,15 +1,13 @@
 package com.thoughtworks.springbootemployee.dto;
 
-import com.thoughtworks.springbootemployee.model.Employee;
-
 import java.util.List;
 
 public class CompanyResponse {
     private Integer id;
     private String companyName;
-    private List<Employee> employees;
+    private List<EmployeeResponse> employees;
 
-    public CompanyResponse(String companyName, List<Employee> employees) {
+    public CompanyResponse(String companyName, List<EmployeeResponse> employees) {
         this.companyName = companyName;
         this.employees = employees;
     }
@@ -29,11 +27,19 @@ public class CompanyResponse {
         return companyName;
     }
 
-    public List<Employee> getEmployees() {
+    public List<EmployeeResponse> getEmployees() {
         return employees;
     }
 
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
     public void setCompanyName(String companyName) {
         this.companyName = companyName;
     }
+
+    public void setEmployees(List<EmployeeResponse> employees) {
+        this.employees = employees;
+    }
 }
@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import com.thoughtworks.springbootemployee.pagination.Cursors;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public CursorPage() {
+    }
+
+    public static <T> CursorPage<T> of(List<T> rowsWithLookAhead, Integer limit, Function<T, Integer> idExtractor) {
+        if (rowsWithLookAhead.size() <= limit) {
+            return new CursorPage<>(rowsWithLookAhead, null);
+        }
+        List<T> items = rowsWithLookAhead.subList(0, limit);
+        return new CursorPage<>(items, Cursors.encodeId(idExtractor.apply(items.get(limit - 1))));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,59 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.List;
+
+public class EmployeeBatchChunkResult {
+    public static final String INSERTED = "INSERTED";
+    public static final String FAILED = "FAILED";
+
+    private Integer chunk;
+    private Integer firstRow;
+    private Integer size;
+    private String status;
+    private List<Integer> employeeIds;
+    private String message;
+
+    public EmployeeBatchChunkResult(Integer chunk, Integer firstRow, Integer size, String status, List<Integer> employeeIds, String message) {
+        this.chunk = chunk;
+        this.firstRow = firstRow;
+        this.size = size;
+        this.status = status;
+        this.employeeIds = employeeIds;
+        this.message = message;
+    }
+
+    public EmployeeBatchChunkResult() {
+    }
+
+    public static EmployeeBatchChunkResult inserted(Integer chunk, Integer firstRow, List<Integer> employeeIds) {
+        return new EmployeeBatchChunkResult(chunk, firstRow, employeeIds.size(), INSERTED, employeeIds, null);
+    }
+
+    public static EmployeeBatchChunkResult failed(Integer chunk, Integer firstRow, Integer size, String message) {
+        return new EmployeeBatchChunkResult(chunk, firstRow, size, FAILED, null, message);
+    }
+
+    public Integer getChunk() {
+        return chunk;
+    }
+
+    public Integer getFirstRow() {
+        return firstRow;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public List<Integer> getEmployeeIds() {
+        return employeeIds;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,36 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.List;
+
+public class EmployeeBatchResponse {
+    private Integer submitted;
+    private Integer inserted;
+    private Integer failed;
+    private List<EmployeeBatchChunkResult> chunks;
+
+    public EmployeeBatchResponse(Integer submitted, Integer inserted, Integer failed, List<EmployeeBatchChunkResult> chunks) {
+        this.submitted = submitted;
+        this.inserted = inserted;
+        this.failed = failed;
+        this.chunks = chunks;
+    }
+
+    public EmployeeBatchResponse() {
+    }
+
+    public Integer getSubmitted() {
+        return submitted;
+    }
+
+    public Integer getInserted() {
+        return inserted;
+    }
+
+    public Integer getFailed() {
+        return failed;
+    }
+
+    public List<EmployeeBatchChunkResult> getChunks() {
+        return chunks;
+    }
+}
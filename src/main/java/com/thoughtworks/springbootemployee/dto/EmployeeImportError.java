@@ -0,0 +1,22 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class EmployeeImportError {
+    private Integer line;
+    private String message;
+
+    public EmployeeImportError(Integer line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public EmployeeImportError() {
+    }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,42 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.List;
+
+public class EmployeeImportResponse {
+    private Integer rows;
+    private Integer imported;
+    private Integer failed;
+    private List<EmployeeImportError> errors;
+    private Boolean errorsTruncated;
+
+    public EmployeeImportResponse(Integer rows, Integer imported, Integer failed, List<EmployeeImportError> errors, Boolean errorsTruncated) {
+        this.rows = rows;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public EmployeeImportResponse() {
+    }
+
+    public Integer getRows() {
+        return rows;
+    }
+
+    public Integer getImported() {
+        return imported;
+    }
+
+    public Integer getFailed() {
+        return failed;
+    }
+
+    public List<EmployeeImportError> getErrors() {
+        return errors;
+    }
+
+    public Boolean getErrorsTruncated() {
+        return errorsTruncated;
+    }
+}
@@ -0,0 +1,15 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.List;
+
+public class EmployeeJsonArray {
+    private List<byte[]> elements;
+
+    public EmployeeJsonArray(List<byte[]> elements) {
+        this.elements = elements;
+    }
+
+    public List<byte[]> getElements() {
+        return elements;
+    }
+}
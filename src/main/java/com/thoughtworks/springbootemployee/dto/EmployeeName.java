@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public interface EmployeeName {
+    Integer getId();
+
+    String getName();
+}
@@ -0,0 +1,13 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public interface EmployeeRow {
+    Integer getId();
+
+    String getName();
+
+    Integer getAge();
+
+    String getGender();
+
+    Integer getSalary();
+}
@@ -0,0 +1,15 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public interface SalaryStats {
+    Object getGroupKey();
+
+    Long getCount();
+
+    Long getTotalSalary();
+
+    Double getAverageSalary();
+
+    Integer getMinSalary();
+
+    Integer getMaxSalary();
+}
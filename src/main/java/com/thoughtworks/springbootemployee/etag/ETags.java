@@ -0,0 +1,69 @@
+package com.thoughtworks.springbootemployee.etag;
+
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public final class ETags {
+    private static final String ANY = "*";
+
+    private ETags() {
+    }
+
+    public static String ofVersion(Long version) {
+        return "\"v" + version + "\"";
+    }
+
+    public static String ofCompany(Long version, long companyRevision) {
+        return "\"v" + version + "-r" + companyRevision + "\"";
+    }
+
+    public static String ofRevision(long revision) {
+        return "\"r" + revision + "\"";
+    }
+
+    public static String ofEmployees(List<Employee> employees) {
+        StringBuilder rows = new StringBuilder();
+        employees.forEach(employee -> appendRow(rows, employee.getId(), employee.getVersion()));
+        return ofRows(rows);
+    }
+
+    public static String ofCompanies(List<Company> companies) {
+        StringBuilder rows = new StringBuilder();
+        for (Company company : companies) {
+            appendRow(rows, company.getId(), company.getVersion());
+            company.getEmployees().forEach(employee -> appendRow(rows, employee.getId(), employee.getVersion()));
+            rows.append(';');
+        }
+        return ofRows(rows);
+    }
+
+    public static Long versionOf(String ifMatch) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() < 4 || !eTag.startsWith("\"v") || !eTag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match does not match the current version.");
+        }
+        String value = eTag.substring(2, eTag.length() - 1);
+        int revisionSeparator = value.indexOf("-r");
+        try {
+            return Long.valueOf(revisionSeparator < 0 ? value : value.substring(0, revisionSeparator));
+        } catch (NumberFormatException exception) {
+            throw new PreconditionFailedException("If-Match does not match the current version.");
+        }
+    }
+
+    private static void appendRow(StringBuilder rows, Integer id, Long version) {
+        rows.append(id).append(':').append(version).append(',');
+    }
+
+    private static String ofRows(StringBuilder rows) {
+        return "\"c" + DigestUtils.md5DigestAsHex(rows.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.exception;
+
+public class InvalidCsvException extends RuntimeException {
+    public InvalidCsvException(String message) {
+        super(message);
+    }
+}
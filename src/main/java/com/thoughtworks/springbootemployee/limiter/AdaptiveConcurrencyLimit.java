@@ -0,0 +1,89 @@
+package com.thoughtworks.springbootemployee.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// AIMD on latency: a sample slower than the target shrinks the limit by 10%, every faster one
+// grows it by one while at least half of it is in use. Requests beyond the limit are turned away
+// instead of queueing on the connection pool. Only requests started after the last backoff can
+// shrink the limit again, so one slow period costs at most one cut per round trip rather than one
+// per request that was in flight during it.
+public class AdaptiveConcurrencyLimit {
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final LongSupplier nanoClock;
+    private volatile double limit;
+    private boolean backedOff;
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, long latencyTargetMillis) {
+        this(name, initialLimit, minLimit, maxLimit, latencyTargetMillis, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, long latencyTargetMillis, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limit " + name + " must satisfy 1 <= min <= initial <= max.");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        onSample(latencyNanos, inFlightBeforeRelease);
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightBeforeRelease) {
+        if (latencyNanos > latencyTargetNanos) {
+            long nowNanos = nanoClock.getAsLong();
+            if (!backedOff || nowNanos - latencyNanos - lastBackoffNanos >= 0) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                backedOff = true;
+                lastBackoffNanos = nowNanos;
+            }
+        } else if (inFlightBeforeRelease * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,130 @@
+package com.thoughtworks.springbootemployee.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.advice.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final List<String> BULK_PATHS = Arrays.asList(
+            "/employees/batch", "/employees/import", "/employees/export.csv", "/companies/*/employees/batch");
+    private static final String NDJSON = "ndjson";
+    private static final String CHANGES_PATH = "/changes";
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final AdaptiveConcurrencyLimit bulkLimit;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit readLimit, AdaptiveConcurrencyLimit writeLimit, AdaptiveConcurrencyLimit bulkLimit,
+                                  long retryAfterSeconds, ObjectMapper objectMapper) {
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.bulkLimit = bulkLimit;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.objectMapper = objectMapper;
+    }
+
+    // Change feed subscribers keep their request open for minutes without using the database.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return urlPathHelper.getPathWithinApplication(request).endsWith(CHANGES_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = limitFor(request);
+        if (!limit.tryAcquire()) {
+            reject(response, limit);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limit, startNanos));
+            } else {
+                limit.release(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private AdaptiveConcurrencyLimit limitFor(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (BULK_PATHS.stream().anyMatch(bulkPath -> pathMatcher.match(bulkPath, path)) || (accept != null && accept.contains(NDJSON))) {
+            return bulkLimit;
+        }
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+            return readLimit;
+        }
+        return writeLimit;
+    }
+
+    private void reject(HttpServletResponse response, AdaptiveConcurrencyLimit limit) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                "Too many concurrent " + limit.getName() + " requests. Please retry later.", HttpStatus.SERVICE_UNAVAILABLE.toString()));
+    }
+
+    private static class ReleaseOnCompletion implements AsyncListener {
+        private final AdaptiveConcurrencyLimit limit;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(AdaptiveConcurrencyLimit limit, long startNanos) {
+            this.limit = limit;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
@@ -3,21 +3,36 @@ package com.thoughtworks.springbootemployee.mapper;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.dto.CompanyRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyResponse;
-import org.springframework.beans.BeanUtils;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.model.Employee;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class CompanyMapper {
-    public Company toEntity(CompanyRequest companyRequest){
-        Company company = new Company();
-        BeanUtils.copyProperties(companyRequest, company);
+    private EmployeeMapper employeeMapper;
 
-        return company;
+    public CompanyMapper(EmployeeMapper employeeMapper) {
+        this.employeeMapper = employeeMapper;
+    }
+
+    public Company toEntity(CompanyRequest companyRequest){
+        return new Company(companyRequest.getCompanyName());
     }
 
     public CompanyResponse toResponse(Company company){
         CompanyResponse companyResponse = new CompanyResponse();
-        BeanUtils.copyProperties(company, companyResponse);
+        companyResponse.setId(company.getId());
+        companyResponse.setCompanyName(company.getCompanyName());
+        if (company.getEmployees() != null) {
+            List<EmployeeResponse> employeeResponses = new ArrayList<>(company.getEmployees().size());
+            for (Employee employee : company.getEmployees()) {
+                employeeResponses.add(employeeMapper.toResponse(employee));
+            }
+            companyResponse.setEmployees(employeeResponses);
+        }
 
         return companyResponse;
     }
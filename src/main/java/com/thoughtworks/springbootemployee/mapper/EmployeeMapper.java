@@ -3,22 +3,27 @@ package com.thoughtworks.springbootemployee.mapper;
 import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
-import org.springframework.beans.BeanUtils;
+import com.thoughtworks.springbootemployee.dto.EmployeeRow;
 import org.springframework.stereotype.Component;
 
 @Component
 public class EmployeeMapper {
     public Employee toEntity(EmployeeRequest employeeRequest){
         Employee employee = new Employee();
-        BeanUtils.copyProperties(employeeRequest, employee);
+        employee.setName(employeeRequest.getName());
+        employee.setAge(employeeRequest.getAge());
+        employee.setGender(employeeRequest.getGender());
+        employee.setSalary(employeeRequest.getSalary());
+        employee.setCompanyId(employeeRequest.getCompanyId());
 
         return employee;
     }
 
     public EmployeeResponse toResponse(Employee employee){
-        EmployeeResponse employeeResponse = new EmployeeResponse();
-        BeanUtils.copyProperties(employee, employeeResponse);
+        return new EmployeeResponse(employee.getId(), employee.getName(), employee.getAge(), employee.getGender(), employee.getSalary());
+    }
 
-        return employeeResponse;
+    public EmployeeResponse toResponse(EmployeeRow employeeRow){
+        return new EmployeeResponse(employeeRow.getId(), employeeRow.getName(), employeeRow.getAge(), employeeRow.getGender(), employeeRow.getSalary());
     }
 }
@@ -0,0 +1,18 @@
+package com.thoughtworks.springbootemployee.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Second-level cache regions; their size and expiry are set per region in application.conf.
+public final class CacheRegions {
+    public static final String COMPANY = "company";
+    public static final String COMPANY_EMPLOYEES = "company-employees";
+    public static final String EMPLOYEE = "employee";
+    public static final String COMPANY_IDS = "company-ids";
+    public static final String EMPLOYEES_BY_GENDER = "employees-by-gender";
+
+    public static final List<String> ALL = Arrays.asList(COMPANY, COMPANY_EMPLOYEES, EMPLOYEE, COMPANY_IDS, EMPLOYEES_BY_GENDER);
+
+    private CacheRegions() {
+    }
+}
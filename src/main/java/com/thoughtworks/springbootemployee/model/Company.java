@@ -1,16 +1,27 @@
 package com.thoughtworks.springbootemployee.model;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COMPANY)
 public class Company {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
     private String companyName;
+    @Version
+    private Long version;
 
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "companyId")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COMPANY_EMPLOYEES)
+    @BatchSize(size = 50)
     private List<Employee> employees;
 
     public Company(String companyName, List<Employee> employees) {
@@ -21,6 +32,13 @@ public class Company {
     public Company() {
     }
 
+    // A detached copy that shares nothing with the given company, down to its employees.
+    public Company(Company company) {
+        this(company.companyName, company.employees.stream().map(Employee::new).collect(Collectors.toList()));
+        this.id = company.id;
+        this.version = company.version;
+    }
+
     public Company(String companyName) {
         this.companyName = companyName;
     }
@@ -33,6 +51,10 @@ public class Company {
         return companyName;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<Employee> getEmployees() {
         return employees;
     }
@@ -1,20 +1,31 @@
 package com.thoughtworks.springbootemployee.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.EMPLOYEE)
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private Integer age;
     private String gender;
     private Integer salary;
     private Integer companyId;
+    @Version
+    private Long version;
 
     public Employee(String name, Integer age, String gender, Integer salary) {
         this.name = name;
@@ -26,6 +37,14 @@ public class Employee {
     public Employee() {
     }
 
+    // A detached copy that shares nothing with the given employee.
+    public Employee(Employee employee) {
+        this(employee.name, employee.age, employee.gender, employee.salary);
+        this.id = employee.id;
+        this.companyId = employee.companyId;
+        this.version = employee.version;
+    }
+
     public Integer getId() {
         return id;
     }
@@ -50,6 +69,10 @@ public class Employee {
         return companyId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setId(int id) {
         this.id = id;
     }
@@ -0,0 +1,55 @@
+package com.thoughtworks.springbootemployee.pagination;
+
+import com.thoughtworks.springbootemployee.exception.InvalidQueryParameterException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class Cursors {
+    public static final int MAX_LIMIT = 500;
+
+    private static final String ID_PREFIX = "id:";
+
+    private Cursors() {
+    }
+
+    public static String encode(String rawCursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidQueryParameterException("Invalid cursor.");
+        }
+    }
+
+    public static String encodeId(Integer id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    public static Integer decodeId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String rawCursor = decode(cursor);
+        if (!rawCursor.startsWith(ID_PREFIX)) {
+            throw new InvalidQueryParameterException("Invalid cursor.");
+        }
+        try {
+            return Integer.valueOf(rawCursor.substring(ID_PREFIX.length()));
+        } catch (NumberFormatException exception) {
+            throw new InvalidQueryParameterException("Invalid cursor.");
+        }
+    }
+
+    public static Pageable firstRowsWithLookAhead(Integer limit) {
+        if (limit == null || limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidQueryParameterException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return PageRequest.of(0, limit + 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.thoughtworks.springbootemployee.pagination;
+
+import com.thoughtworks.springbootemployee.exception.InvalidQueryParameterException;
+
+public final class SortKeyCursor {
+    private static final String PREFIX = "key:";
+    private static final String NULL_VALUE = "~";
+    private static final String VALUE_PREFIX = "=";
+
+    private final String sort;
+    private final String direction;
+    private final Integer id;
+    private final String value;
+
+    public SortKeyCursor(String sort, String direction, Integer id, Object value) {
+        this.sort = sort;
+        this.direction = direction;
+        this.id = id;
+        this.value = value == null ? null : value.toString();
+    }
+
+    public static String encode(String sort, String direction, Integer id, Object value) {
+        return Cursors.encode(PREFIX + sort + ":" + direction + ":" + id + ":" + (value == null ? NULL_VALUE : VALUE_PREFIX + value));
+    }
+
+    public static SortKeyCursor decode(String cursor, String sort, String direction) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String rawCursor = Cursors.decode(cursor);
+        String[] parts = rawCursor.startsWith(PREFIX) ? rawCursor.substring(PREFIX.length()).split(":", 4) : new String[0];
+        if (parts.length != 4 || !parts[0].equals(sort) || !parts[1].equals(direction)
+                || !(parts[3].equals(NULL_VALUE) || parts[3].startsWith(VALUE_PREFIX))) {
+            throw new InvalidQueryParameterException("Invalid cursor.");
+        }
+        try {
+            return new SortKeyCursor(sort, direction, Integer.valueOf(parts[2]),
+                    parts[3].equals(NULL_VALUE) ? null : parts[3].substring(VALUE_PREFIX.length()));
+        } catch (NumberFormatException exception) {
+            throw new InvalidQueryParameterException("Invalid cursor.");
+        }
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -1,9 +1,33 @@
 package com.thoughtworks.springbootemployee.repository;
 
+import com.thoughtworks.springbootemployee.model.CacheRegions;
 import com.thoughtworks.springbootemployee.model.Company;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Integer> {
+public interface CompanyRepository extends JpaRepository<Company, Integer>, CompanyRepositoryCustom {
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.COMPANY_IDS)})
+    @Query("select c.id from Company c order by c.id")
+    List<Integer> findAllIds();
+
+    @Query("select c.id from Company c order by c.id")
+    List<Integer> findIds(Pageable pageable);
+
+    @Query("select c.id from Company c where c.id > :companyId order by c.id")
+    List<Integer> findIdsByIdGreaterThan(@Param("companyId") Integer companyId, Pageable pageable);
+
+    @Query("select c.version from Company c where c.id = :companyId")
+    Optional<Long> findVersionById(@Param("companyId") Integer companyId);
 }
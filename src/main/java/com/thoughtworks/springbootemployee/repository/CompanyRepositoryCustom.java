@@ -0,0 +1,16 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CompanyRepositoryCustom {
+    Optional<Company> findWithEmployeesById(Integer companyId);
+
+    List<Company> findAllWithEmployeesByIdIn(List<Integer> companyIds);
+
+    int updateCompanyName(Integer companyId, String companyName, Long expectedVersion);
+
+    int deleteCompanyById(Integer companyId);
+}
@@ -0,0 +1,79 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import org.hibernate.Cache;
+import org.hibernate.Hibernate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// A company whose entity and employee collection are both in the second-level cache is looked up by id.
+// All the others are read with one fetch join, which also fills the cache, so the statement count does not
+// grow with the number of companies or employees.
+public class CompanyRepositoryImpl implements CompanyRepositoryCustom {
+    private static final String EMPLOYEES_ROLE = Company.class.getName() + ".employees";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Company> findWithEmployeesById(Integer companyId) {
+        return findAllWithEmployeesByIdIn(Collections.singletonList(companyId)).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Company> findAllWithEmployeesByIdIn(List<Integer> companyIds) {
+        Cache secondLevelCache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        Map<Integer, Company> companiesById = new HashMap<>();
+        List<Integer> missedIds = new ArrayList<>();
+        for (Integer companyId : companyIds) {
+            Company company = secondLevelCache.containsEntity(Company.class, companyId) && secondLevelCache.containsCollection(EMPLOYEES_ROLE, companyId)
+                    ? entityManager.find(Company.class, companyId)
+                    : null;
+            if (company == null) {
+                missedIds.add(companyId);
+            } else {
+                Hibernate.initialize(company.getEmployees());
+                companiesById.put(companyId, company);
+            }
+        }
+        if (!missedIds.isEmpty()) {
+            entityManager.createQuery("select distinct c from Company c left join fetch c.employees where c.id in :companyIds", Company.class)
+                    .setParameter("companyIds", missedIds)
+                    .getResultList()
+                    .forEach(company -> companiesById.put(company.getId(), company));
+        }
+        return companyIds.stream().map(companiesById::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Override
+    public int updateCompanyName(Integer companyId, String companyName, Long expectedVersion) {
+        String sql = "update company set company_name = :companyName, version = version + 1 where id = :companyId";
+        Query update = SingleRowStatements.create(entityManager, expectedVersion == null ? sql : sql + " and version = :expectedVersion")
+                .setParameter("companyName", companyName)
+                .setParameter("companyId", companyId);
+        if (expectedVersion != null) {
+            update.setParameter("expectedVersion", expectedVersion);
+        }
+        return update.executeUpdate();
+    }
+
+    @Override
+    public int deleteCompanyById(Integer companyId) {
+        return SingleRowStatements.create(entityManager, "delete from company where id = :companyId")
+                .setParameter("companyId", companyId)
+                .executeUpdate();
+    }
+}
@@ -1,13 +1,74 @@
 package com.thoughtworks.springbootemployee.repository;
 
+import com.thoughtworks.springbootemployee.dto.EmployeeName;
+import com.thoughtworks.springbootemployee.dto.SalaryStats;
+import com.thoughtworks.springbootemployee.model.CacheRegions;
 import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
+public interface EmployeeRepository extends JpaRepository<Employee, Integer>, JpaSpecificationExecutor<Employee>, EmployeeRepositoryCustom {
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.EMPLOYEES_BY_GENDER)})
     List<Employee> findEmployeeByGender(String employeeGender);
 
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select e.id as id, e.name as name from Employee e")
+    Stream<EmployeeName> streamNames();
+
+    @Query("select e.version from Employee e where e.id = :employeeId")
+    Optional<Long> findVersionById(@Param("employeeId") Integer employeeId);
+
+    @Query("select e.companyId from Employee e where e.id = :employeeId")
+    Optional<Integer> findCompanyIdById(@Param("employeeId") Integer employeeId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Employee e where e.companyId = :companyId")
+    int deleteByCompanyId(@Param("companyId") Integer companyId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Employee e set e.companyId = :targetCompanyId, e.version = e.version + 1 where e.companyId = :companyId")
+    int reassignByCompanyId(@Param("companyId") Integer companyId, @Param("targetCompanyId") Integer targetCompanyId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Employee e set e.companyId = null, e.version = e.version + 1 where e.companyId = :companyId")
+    int detachByCompanyId(@Param("companyId") Integer companyId);
+
+    @Query("select e.gender as groupKey, count(e.id) as count, sum(e.salary) as totalSalary, avg(e.salary) as averageSalary, " +
+            "min(e.salary) as minSalary, max(e.salary) as maxSalary from Employee e group by e.gender order by e.gender")
+    List<SalaryStats> findSalaryStatsGroupByGender();
+
+    @Query("select e.companyId as groupKey, count(e.id) as count, sum(e.salary) as totalSalary, avg(e.salary) as averageSalary, " +
+            "min(e.salary) as minSalary, max(e.salary) as maxSalary from Employee e group by e.companyId order by e.companyId")
+    List<SalaryStats> findSalaryStatsGroupByCompanyId();
+
+    @Query("select (e.age / 10) * 10 as groupKey, count(e.id) as count, sum(e.salary) as totalSalary, avg(e.salary) as averageSalary, " +
+            "min(e.salary) as minSalary, max(e.salary) as maxSalary from Employee e group by (e.age / 10) * 10 order by (e.age / 10) * 10")
+    List<SalaryStats> findSalaryStatsGroupByAgeBucket();
+
+    @Query("select c.id as groupKey, count(e.id) as count, sum(e.salary) as totalSalary, avg(e.salary) as averageSalary, " +
+            "min(e.salary) as minSalary, max(e.salary) as maxSalary from Company c left join c.employees e where c.id = :companyId group by c.id")
+    Optional<SalaryStats> findSalaryStatsByCompanyId(@Param("companyId") Integer companyId);
 }
@@ -0,0 +1,15 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.dto.EmployeeRow;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface EmployeeRepositoryCustom {
+    int updateNonNullFields(Integer employeeId, Employee employeeToBeUpdated, Long expectedVersion);
+
+    int deleteEmployeeById(Integer employeeId);
+
+    List<EmployeeRow> findFirst(Specification<Employee> specification, int limit);
+}
@@ -0,0 +1,114 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.dto.EmployeeRow;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateNonNullFields(Integer employeeId, Employee employeeToBeUpdated, Long expectedVersion) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfNotNull(changes, "name", employeeToBeUpdated.getName());
+        putIfNotNull(changes, "age", employeeToBeUpdated.getAge());
+        putIfNotNull(changes, "gender", employeeToBeUpdated.getGender());
+        putIfNotNull(changes, "salary", employeeToBeUpdated.getSalary());
+        putIfNotNull(changes, "company_id", employeeToBeUpdated.getCompanyId());
+        if (changes.isEmpty()) {
+            Employee existingEmployee = entityManager.find(Employee.class, employeeId);
+            return existingEmployee == null || (expectedVersion != null && !expectedVersion.equals(existingEmployee.getVersion())) ? 0 : 1;
+        }
+        StringBuilder sql = new StringBuilder("update employee set ");
+        changes.keySet().forEach(column -> sql.append(column).append(" = :").append(column).append(", "));
+        sql.append("version = version + 1 where id = :employeeId");
+        if (expectedVersion != null) {
+            sql.append(" and version = :expectedVersion");
+        }
+        Query update = SingleRowStatements.create(entityManager, sql.toString());
+        changes.forEach(update::setParameter);
+        update.setParameter("employeeId", employeeId);
+        if (expectedVersion != null) {
+            update.setParameter("expectedVersion", expectedVersion);
+        }
+        return update.executeUpdate();
+    }
+
+    @Override
+    public int deleteEmployeeById(Integer employeeId) {
+        return SingleRowStatements.create(entityManager, "delete from employee where id = :employeeId")
+                .setParameter("employeeId", employeeId)
+                .executeUpdate();
+    }
+
+    private static void putIfNotNull(Map<String, Object> changes, String column, Object value) {
+        if (value != null) {
+            changes.put(column, value);
+        }
+    }
+
+    // Unlike JpaSpecificationExecutor.findAll(spec, pageable) this issues no count query, and
+    // keeps the ORDER BY the specification put on the query. Only the columns of EmployeeRow are
+    // selected, so no entities end up in the persistence context.
+    @Override
+    public List<EmployeeRow> findFirst(Specification<Employee> specification, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        Predicate predicate = specification.toPredicate(employee, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(employee.get("id"), employee.get("name"), employee.get("age"), employee.get("gender"), employee.get("salary"));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+                .map(TupleEmployeeRow::new)
+                .collect(Collectors.toList());
+    }
+
+    private static final class TupleEmployeeRow implements EmployeeRow {
+        private final Tuple tuple;
+
+        private TupleEmployeeRow(Tuple tuple) {
+            this.tuple = tuple;
+        }
+
+        @Override
+        public Integer getId() {
+            return tuple.get(0, Integer.class);
+        }
+
+        @Override
+        public String getName() {
+            return tuple.get(1, String.class);
+        }
+
+        @Override
+        public Integer getAge() {
+            return tuple.get(2, Integer.class);
+        }
+
+        @Override
+        public String getGender() {
+            return tuple.get(3, String.class);
+        }
+
+        @Override
+        public Integer getSalary() {
+            return tuple.get(4, Integer.class);
+        }
+    }
+}
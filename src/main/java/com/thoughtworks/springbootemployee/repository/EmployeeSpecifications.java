@@ -0,0 +1,95 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.exception.InvalidQueryParameterException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.pagination.SortKeyCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+public final class EmployeeSpecifications {
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> hasGender(String gender) {
+        return gender == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("gender"), gender);
+    }
+
+    public static Specification<Employee> hasCompanyId(Integer companyId) {
+        return companyId == null ? null : (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("companyId"), companyId);
+    }
+
+    public static Specification<Employee> ageBetween(Integer minAge, Integer maxAge) {
+        return between("age", minAge, maxAge);
+    }
+
+    public static Specification<Employee> salaryBetween(Integer minSalary, Integer maxSalary) {
+        return between("salary", minSalary, maxSalary);
+    }
+
+    // Orders by the sort field, then id, and keeps only rows with a sort value that come after the
+    // cursor in that order. Rows without a sort value are paged separately by withoutSortValueAfter,
+    // so the ORDER BY and the keyset range both follow a (filter, sort, id) index.
+    public static Specification<Employee> sortedAfter(String sort, boolean ascending, SortKeyCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Integer> id = root.get("id");
+            Predicate idAfter = cursor == null ? null : after(criteriaBuilder, id, cursor.getId(), ascending);
+            if ("id".equals(sort)) {
+                query.orderBy(ascending ? criteriaBuilder.asc(id) : criteriaBuilder.desc(id));
+                return idAfter;
+            }
+            Path<Comparable<Object>> value = root.get(sort);
+            query.orderBy(ascending ? criteriaBuilder.asc(value) : criteriaBuilder.desc(value),
+                    ascending ? criteriaBuilder.asc(id) : criteriaBuilder.desc(id));
+            if (cursor == null) {
+                return criteriaBuilder.isNotNull(value);
+            }
+            Comparable<Object> cursorValue = sortValue(value.getJavaType(), cursor.getValue());
+            Predicate fromCursorValue = ascending ? criteriaBuilder.greaterThanOrEqualTo(value, cursorValue)
+                    : criteriaBuilder.lessThanOrEqualTo(value, cursorValue);
+            return criteriaBuilder.and(fromCursorValue, criteriaBuilder.or(after(criteriaBuilder, value, cursorValue, ascending), idAfter));
+        };
+    }
+
+    // The rows sortedAfter leaves out, ordered by id; they come last in both directions.
+    public static Specification<Employee> withoutSortValueAfter(String sort, boolean ascending, SortKeyCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Integer> id = root.get("id");
+            query.orderBy(ascending ? criteriaBuilder.asc(id) : criteriaBuilder.desc(id));
+            Predicate withoutValue = criteriaBuilder.isNull(root.get(sort));
+            return cursor == null ? withoutValue : criteriaBuilder.and(withoutValue, after(criteriaBuilder, id, cursor.getId(), ascending));
+        };
+    }
+
+    private static Specification<Employee> between(String attribute, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) -> {
+            Path<Integer> value = root.get(attribute);
+            if (max == null) {
+                return criteriaBuilder.greaterThanOrEqualTo(value, min);
+            }
+            if (min == null) {
+                return criteriaBuilder.lessThanOrEqualTo(value, max);
+            }
+            return criteriaBuilder.between(value, min, max);
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate after(CriteriaBuilder criteriaBuilder, Expression<T> value, T cursorValue, boolean ascending) {
+        return ascending ? criteriaBuilder.greaterThan(value, cursorValue) : criteriaBuilder.lessThan(value, cursorValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> sortValue(Class<?> type, String value) {
+        try {
+            return (Comparable<Object>) (Comparable<?>) (Integer.class.equals(type) ? Integer.valueOf(value) : value);
+        } catch (NumberFormatException exception) {
+            throw new InvalidQueryParameterException("Invalid cursor.");
+        }
+    }
+}
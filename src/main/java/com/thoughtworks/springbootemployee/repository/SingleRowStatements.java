@@ -0,0 +1,23 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+// Hibernate follows a JPQL or Criteria update/delete by dropping the whole second-level cache region of
+// every entity and collection on the table, and a native statement without query spaces by dropping all
+// regions. Statements that change one row are synchronized on a query space no entity is mapped to, so
+// nothing is dropped; their callers evict just that row's entries through EntityCaches.
+final class SingleRowStatements {
+    private static final String QUERY_SPACE = "single-row-statement";
+
+    private SingleRowStatements() {
+    }
+
+    static Query create(EntityManager entityManager, String sql) {
+        Query statement = entityManager.createNativeQuery(sql);
+        statement.unwrap(NativeQuery.class).addSynchronizedQuerySpace(QUERY_SPACE);
+        return statement;
+    }
+}
@@ -0,0 +1,156 @@
+package com.thoughtworks.springbootemployee.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+@Component
+public class EmployeeNameIndex {
+    private static final String TOKEN_SEPARATOR = "[^\\p{L}\\p{N}]+";
+    // A one-letter prefix spans a large share of all distinct tokens, so prefixes up to this length
+    // keep their ids merged into one set instead of being expanded over every matching token.
+    private static final int SHORT_PREFIX_LENGTH = 3;
+
+    private final ConcurrentSkipListMap<String, NavigableSet<Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableSet<Integer>> shortPrefixPostings = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> tokensByEmployeeId = new ConcurrentHashMap<>();
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split(TOKEN_SEPARATOR))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    public void put(Integer employeeId, String name) {
+        Set<String> tokens = tokenize(name).stream().collect(Collectors.toSet());
+        Set<String> prefixes = shortPrefixes(tokens);
+        Set<String> previousTokens = tokensByEmployeeId.put(employeeId, tokens);
+        if (previousTokens != null) {
+            previousTokens.stream().filter(token -> !tokens.contains(token)).forEach(token -> removePosting(postings, token, employeeId));
+            shortPrefixes(previousTokens).stream().filter(prefix -> !prefixes.contains(prefix))
+                    .forEach(prefix -> removePosting(shortPrefixPostings, prefix, employeeId));
+        }
+        tokens.forEach(token -> postings.computeIfAbsent(token, key -> new ConcurrentSkipListSet<>()).add(employeeId));
+        prefixes.forEach(prefix -> shortPrefixPostings.computeIfAbsent(prefix, key -> new ConcurrentSkipListSet<>()).add(employeeId));
+    }
+
+    public void remove(Integer employeeId) {
+        Set<String> tokens = tokensByEmployeeId.remove(employeeId);
+        if (tokens != null) {
+            tokens.forEach(token -> removePosting(postings, token, employeeId));
+            shortPrefixes(tokens).forEach(prefix -> removePosting(shortPrefixPostings, prefix, employeeId));
+        }
+    }
+
+    public int size() {
+        return tokensByEmployeeId.size();
+    }
+
+    // Every query token must prefix-match a token of the name. Ids come back ascending and
+    // strictly greater than afterId; the work is proportional to the result and the number of
+    // index tokens sharing each prefix longer than SHORT_PREFIX_LENGTH, not to the number of employees.
+    public List<Integer> search(List<String> queryTokens, Integer afterId, int limit) {
+        List<Collection<NavigableSet<Integer>>> prefixPostings = new ArrayList<>();
+        for (String queryToken : queryTokens) {
+            Collection<NavigableSet<Integer>> matches = postingsMatching(queryToken);
+            if (matches.isEmpty()) {
+                return new ArrayList<>();
+            }
+            prefixPostings.add(matches);
+        }
+        List<Integer> employeeIds = new ArrayList<>();
+        int candidate = afterId;
+        while (employeeIds.size() < limit) {
+            Integer match = nextCommonId(prefixPostings, candidate);
+            if (match == null) {
+                break;
+            }
+            employeeIds.add(match);
+            candidate = match;
+        }
+        return employeeIds;
+    }
+
+    private Integer nextCommonId(List<Collection<NavigableSet<Integer>>> prefixPostings, int afterId) {
+        if (afterId == Integer.MAX_VALUE) {
+            return null;
+        }
+        int target = afterId + 1;
+        int agreeing = 0;
+        while (agreeing < prefixPostings.size()) {
+            for (Collection<NavigableSet<Integer>> postingsOfPrefix : prefixPostings) {
+                Integer ceiling = ceiling(postingsOfPrefix, target);
+                if (ceiling == null) {
+                    return null;
+                }
+                if (ceiling == target) {
+                    agreeing++;
+                } else {
+                    target = ceiling;
+                    agreeing = 1;
+                }
+                if (agreeing == prefixPostings.size()) {
+                    break;
+                }
+            }
+        }
+        return target;
+    }
+
+    private Integer ceiling(Collection<NavigableSet<Integer>> postingsOfPrefix, int target) {
+        Integer ceiling = null;
+        for (NavigableSet<Integer> employeeIds : postingsOfPrefix) {
+            Integer candidate = employeeIds.ceiling(target);
+            if (candidate != null && (ceiling == null || candidate < ceiling)) {
+                ceiling = candidate;
+                if (ceiling == target) {
+                    break;
+                }
+            }
+        }
+        return ceiling;
+    }
+
+    private Collection<NavigableSet<Integer>> postingsMatching(String queryToken) {
+        if (queryToken.length() <= SHORT_PREFIX_LENGTH) {
+            NavigableSet<Integer> employeeIds = shortPrefixPostings.get(queryToken);
+            return employeeIds == null ? Collections.emptyList() : Collections.singletonList(employeeIds);
+        }
+        return postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).values();
+    }
+
+    private static Set<String> shortPrefixes(Set<String> tokens) {
+        Set<String> prefixes = new HashSet<>();
+        for (String token : tokens) {
+            for (int length = 1; length <= Math.min(token.length(), SHORT_PREFIX_LENGTH); length++) {
+                prefixes.add(token.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    // emptied posting sets are kept: dropping them could race with a concurrent put of the same token
+    private static void removePosting(Map<String, NavigableSet<Integer>> postings, String token, Integer employeeId) {
+        NavigableSet<Integer> employeeIds = postings.get(token);
+        if (employeeIds != null) {
+            employeeIds.remove(employeeId);
+        }
+    }
+}
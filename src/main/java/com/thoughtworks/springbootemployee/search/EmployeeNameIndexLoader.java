@@ -0,0 +1,41 @@
+package com.thoughtworks.springbootemployee.search;
+
+import com.thoughtworks.springbootemployee.dto.EmployeeName;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+// Fills the name index before the web server starts, so searches never see a half-built index.
+@Component
+public class EmployeeNameIndexLoader implements SmartInitializingSingleton {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeNameIndexLoader.class);
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeNameIndex employeeNameIndex;
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    public EmployeeNameIndexLoader(EmployeeRepository employeeRepository, EmployeeNameIndex employeeNameIndex,
+                                   PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.employeeNameIndex = employeeNameIndex;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<EmployeeName> employeeNames = employeeRepository.streamNames()) {
+                employeeNames.forEach(employeeName -> employeeNameIndex.put(employeeName.getId(), employeeName.getName()));
+            }
+        });
+        LOGGER.info("Indexed {} employee names in {} ms", employeeNameIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
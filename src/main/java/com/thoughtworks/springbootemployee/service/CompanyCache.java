@@ -0,0 +1,23 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Holds companies with their employees.
+@Component
+public class CompanyCache {
+    private CompanyRepository companyRepository;
+    private EntityCaches entityCaches;
+
+    public CompanyCache(CompanyRepository companyRepository, EntityCaches entityCaches) {
+        this.companyRepository = companyRepository;
+        this.entityCaches = entityCaches;
+    }
+
+    public Optional<Company> findWithEmployeesById(Integer companyId) {
+        return entityCaches.readThrough(EntityCaches.COMPANIES, companyId, () -> companyRepository.findWithEmployeesById(companyId), Company::new);
+    }
+}
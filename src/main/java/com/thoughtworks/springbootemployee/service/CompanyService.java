@@ -1,65 +1,175 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.changefeed.ChangeEvent;
+import com.thoughtworks.springbootemployee.changefeed.ChangeFeed;
+import com.thoughtworks.springbootemployee.config.ChangeFeedConfig;
+import com.thoughtworks.springbootemployee.dto.CursorPage;
+import com.thoughtworks.springbootemployee.dto.EmployeeBatchResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.dto.EmployeeRow;
+import com.thoughtworks.springbootemployee.dto.SalaryStats;
 import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
-import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.exception.InvalidQueryParameterException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.pagination.Cursors;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Service
 public class CompanyService {
     private CompanyRepository companyRepository;
+    private EmployeeService employeeService;
+    private ModificationCounter modificationCounter;
+    private ChangeFeed companyChangeFeed;
+    private CompanyCache companyCache;
+    private EntityCaches entityCaches;
 
-    public CompanyService(CompanyRepository companyRepository) {
+    public CompanyService(CompanyRepository companyRepository, EmployeeService employeeService, ModificationCounter modificationCounter,
+                          @Qualifier(ChangeFeedConfig.COMPANY_CHANGES) ChangeFeed companyChangeFeed, CompanyCache companyCache,
+                          EntityCaches entityCaches) {
         this.companyRepository = companyRepository;
+        this.companyCache = companyCache;
+        this.entityCaches = entityCaches;
+        this.employeeService = employeeService;
+        this.modificationCounter = modificationCounter;
+        this.companyChangeFeed = companyChangeFeed;
     }
 
+    @Transactional(readOnly = true)
     public List<Company> findCompanies() {
-        return companyRepository.findAll();
+        employeeService.flushPendingUpdates();
+        return findCompaniesWithEmployees(companyRepository.findAllIds());
     }
 
     public Company addCompany(Company company) {
-        return companyRepository.save(company);
+        Company createdCompany = companyRepository.save(company);
+        modificationCounter.companyModified(createdCompany.getId());
+        TransactionCallbacks.afterCommit(() -> companyChangeFeed.publish(ChangeEvent.CREATED, createdCompany.getId(), null));
+        return createdCompany;
     }
 
+    public Optional<Long> findCompanyVersion(Integer companyId) {
+        return companyRepository.findVersionById(companyId);
+    }
+
+    @Transactional(readOnly = true)
     public Company findCompanyById(Integer companyId) {
-        return companyRepository.findById(companyId).orElseThrow(() -> new CompanyNotFoundException("Company not found"));
+        employeeService.flushPendingUpdates();
+        return companyCache.findWithEmployeesById(companyId).orElseThrow(() -> new CompanyNotFoundException("Company not found"));
     }
 
-    public Company updateCompany(Integer companyId, Company companyToBeUpdated) {
-        Company company = companyRepository.findById(companyId).orElse(null);
-        if (company == null) {
-            throw new CompanyNotFoundException("Company not found. Cannot update non-existent company.");
+    // The version check and the body load share one transaction, so both are read from the same datasource.
+    @Transactional(readOnly = true)
+    public Optional<Company> findCompanyIfModified(Integer companyId, Predicate<Long> notModified) {
+        Optional<Long> version = findCompanyVersion(companyId);
+        if (version.isPresent() && notModified.test(version.get())) {
+            return Optional.empty();
         }
-        return updateCompanyInfo(company, companyToBeUpdated);
+        return Optional.of(findCompanyById(companyId));
     }
 
-    private Company updateCompanyInfo(Company company, Company companyToBeUpdated) {
+    @Transactional
+    public Company updateCompany(Integer companyId, Company companyToBeUpdated, Long expectedVersion) {
         if (companyToBeUpdated.getCompanyName() != null) {
-            company.setCompanyName(companyToBeUpdated.getCompanyName());
+            if (companyRepository.updateCompanyName(companyId, companyToBeUpdated.getCompanyName(), expectedVersion) == 0) {
+                if (expectedVersion != null && companyRepository.findVersionById(companyId).isPresent()) {
+                    throw new PreconditionFailedException("Company has been modified. Cannot update a stale version.");
+                }
+                throw new CompanyNotFoundException("Company not found. Cannot update non-existent company.");
+            }
+            entityCaches.evictCompanyRow(companyId);
         }
+        Company updatedCompany = companyRepository.findWithEmployeesById(companyId)
+                .orElseThrow(() -> new CompanyNotFoundException("Company not found. Cannot update non-existent company."));
+        if (expectedVersion != null && companyToBeUpdated.getCompanyName() == null && !expectedVersion.equals(updatedCompany.getVersion())) {
+            throw new PreconditionFailedException("Company has been modified. Cannot update a stale version.");
+        }
+        modificationCounter.companyModified(companyId);
+        TransactionCallbacks.afterCommit(() -> companyChangeFeed.publish(ChangeEvent.UPDATED, companyId, null));
+        return updatedCompany;
+    }
 
-        companyRepository.save(company);
-        return company;
+    @Transactional
+    public void deleteCompany(Integer companyId, String employees, Integer targetCompanyId) {
+        employeeService.flushPendingUpdates();
+        switch (employees) {
+            case "delete":
+                employeeService.deleteCompanyEmployees(companyId);
+                break;
+            case "reassign":
+                if (targetCompanyId == null || targetCompanyId.equals(companyId)) {
+                    throw new InvalidQueryParameterException("targetCompanyId must name another company to reassign employees.");
+                }
+                if (!companyRepository.existsById(targetCompanyId)) {
+                    throw new CompanyNotFoundException("Target company not found. Cannot reassign employees.");
+                }
+                employeeService.reassignCompanyEmployees(companyId, targetCompanyId);
+                break;
+            case "detach":
+                employeeService.detachCompanyEmployees(companyId);
+                break;
+            default:
+                throw new InvalidQueryParameterException("employees must be one of delete, reassign, detach.");
+        }
+        if (companyRepository.deleteCompanyById(companyId) == 0) {
+            throw new CompanyNotFoundException("Company not found. Cannot delete non-existent company.");
+        }
+        entityCaches.evictCompanyRow(companyId);
+        entityCaches.evictCompanyIds();
+        modificationCounter.companyModified(companyId);
+        TransactionCallbacks.afterCommit(() -> companyChangeFeed.publish(ChangeEvent.DELETED, companyId, null));
     }
 
-    public void deleteCompany(Integer employeeId) {
-        Company company = companyRepository.findById(employeeId).orElse(null);
-        if (company == null) {
-            throw new EmployeeNotFoundException("Company not found. Cannot delete non-existent company.");
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeRow> getCompanyEmployees(Integer companyId, EmployeeQuery employeeQuery) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new CompanyNotFoundException("Company not found");
         }
-        companyRepository.delete(company);
+        employeeQuery.setCompanyId(companyId);
+        return employeeService.queryEmployees(employeeQuery);
+    }
+
+    public SalaryStats findCompanyStats(Integer companyId) {
+        return employeeService.findCompanySalaryStats(companyId).orElseThrow(() -> new CompanyNotFoundException("Company not found"));
     }
 
-    public List<Employee> getCompanyEmployees(Integer companyId) {
-        return companyRepository.findById(companyId).map(Company::getEmployees).orElse(null);
+    public EmployeeBatchResponse addCompanyEmployees(Integer companyId, List<Employee> employees) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new CompanyNotFoundException("Company not found");
+        }
+        employees.forEach(employee -> employee.setCompanyId(companyId));
+        return employeeService.addEmployees(employees);
     }
 
+    @Transactional(readOnly = true)
     public List<Company> findCompaniesByPagination(Integer pageIndex, Integer pageSize){
-        return companyRepository.findAll(PageRequest.of(pageIndex, pageSize)).getContent();
+        employeeService.flushPendingUpdates();
+        return findCompaniesWithEmployees(companyRepository.findIds(PageRequest.of(pageIndex, pageSize)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Company> findCompaniesAfter(String cursor, Integer limit) {
+        employeeService.flushPendingUpdates();
+        List<Integer> companyIds = companyRepository.findIdsByIdGreaterThan(Cursors.decodeId(cursor), Cursors.firstRowsWithLookAhead(limit));
+        CursorPage<Integer> companyIdPage = CursorPage.of(companyIds, limit, Function.identity());
+        return new CursorPage<>(findCompaniesWithEmployees(companyIdPage.getItems()), companyIdPage.getNextCursor());
+    }
+
+    private List<Company> findCompaniesWithEmployees(List<Integer> companyIds) {
+        if (companyIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return companyRepository.findAllWithEmployeesByIdIn(companyIds);
     }
 }
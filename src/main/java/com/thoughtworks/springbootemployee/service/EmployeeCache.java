@@ -0,0 +1,24 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Holds employees exactly as stored. Queued write-behind updates are overlaid by EmployeeService on
+// every read, so an overlay copy never ends up in the cache.
+@Component
+public class EmployeeCache {
+    private EmployeeRepository employeeRepository;
+    private EntityCaches entityCaches;
+
+    public EmployeeCache(EmployeeRepository employeeRepository, EntityCaches entityCaches) {
+        this.employeeRepository = employeeRepository;
+        this.entityCaches = entityCaches;
+    }
+
+    public Optional<Employee> findById(Integer employeeId) {
+        return entityCaches.readThrough(EntityCaches.EMPLOYEES, employeeId, () -> employeeRepository.findById(employeeId), Employee::new);
+    }
+}
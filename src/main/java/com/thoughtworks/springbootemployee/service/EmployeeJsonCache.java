@@ -0,0 +1,79 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thoughtworks.springbootemployee.dto.EmployeeJsonArray;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Component
+public class EmployeeJsonCache {
+    private final Cache<Integer, VersionedJson> cache;
+    private final ObjectWriter employeeResponseWriter;
+    private final EmployeeMapper employeeMapper;
+
+    public EmployeeJsonCache(ObjectMapper objectMapper, EmployeeMapper employeeMapper, MeterRegistry meterRegistry,
+                             @Value("${employee.json-cache.spec:maximumSize=10000,recordStats}") String spec) {
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.from(spec).build(), "employeeJson");
+        this.employeeResponseWriter = objectMapper.writerFor(EmployeeResponse.class);
+        this.employeeMapper = employeeMapper;
+    }
+
+    public EmployeeJsonArray toJsonArray(List<Employee> employees) {
+        return new EmployeeJsonArray(employees.stream().map(this::toJson).collect(Collectors.toList()));
+    }
+
+    public byte[] toJson(Employee employee) {
+        if (employee.getVersion() == null) {
+            return serialize(employee);
+        }
+        VersionedJson cached = cache.getIfPresent(employee.getId());
+        if (cached != null && Objects.equals(cached.version, employee.getVersion())) {
+            return cached.json;
+        }
+        byte[] json = serialize(employee);
+        cache.put(employee.getId(), new VersionedJson(employee.getVersion(), json));
+        return json;
+    }
+
+    public void evict(Integer employeeId) {
+        if (employeeId != null) {
+            TransactionCallbacks.afterCompletion(() -> cache.invalidate(employeeId));
+        }
+    }
+
+    public void evictAll() {
+        TransactionCallbacks.afterCompletion(cache::invalidateAll);
+    }
+
+    private byte[] serialize(Employee employee) {
+        try {
+            return employeeResponseWriter.writeValueAsBytes(employeeMapper.toResponse(employee));
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static final class VersionedJson {
+        private final Long version;
+        private final byte[] json;
+
+        private VersionedJson(Long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+}
@@ -1,73 +1,493 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.changefeed.ChangeEvent;
+import com.thoughtworks.springbootemployee.changefeed.ChangeFeed;
+import com.thoughtworks.springbootemployee.config.ChangeFeedConfig;
+import com.thoughtworks.springbootemployee.csv.CsvRecordReader;
+import com.thoughtworks.springbootemployee.csv.EmployeeCsv;
+import com.thoughtworks.springbootemployee.dto.CursorPage;
+import com.thoughtworks.springbootemployee.dto.EmployeeBatchChunkResult;
+import com.thoughtworks.springbootemployee.dto.EmployeeBatchResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeImportError;
+import com.thoughtworks.springbootemployee.dto.EmployeeImportResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.dto.EmployeeRow;
+import com.thoughtworks.springbootemployee.dto.SalaryStats;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.exception.InvalidCsvException;
+import com.thoughtworks.springbootemployee.exception.InvalidQueryParameterException;
+import com.thoughtworks.springbootemployee.exception.PreconditionFailedException;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.pagination.Cursors;
+import com.thoughtworks.springbootemployee.pagination.SortKeyCursor;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeSpecifications;
+import com.thoughtworks.springbootemployee.search.EmployeeNameIndex;
+import com.thoughtworks.springbootemployee.writebehind.EmployeeWriteBehind;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeService {
+    private static final int MAX_REPORTED_IMPORT_ERRORS = 1000;
+    private static final List<String> QUERY_SORT_FIELDS = Arrays.asList("id", "name", "age", "salary");
+    private static final List<String> QUERY_DIRECTIONS = Arrays.asList("asc", "desc");
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityCaches entityCaches;
+
+    @Autowired
+    private ModificationCounter modificationCounter;
+
+    @Autowired
+    private EmployeeJsonCache employeeJsonCache;
+
+    @Autowired
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Autowired
+    private ObjectProvider<EmployeeWriteBehind> employeeWriteBehind;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    @Qualifier(ChangeFeedConfig.EMPLOYEE_CHANGES)
+    private ChangeFeed employeeChangeFeed;
+
+    @Value("${employee.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Transactional(readOnly = true)
     public List<Employee> findEmployees() {
-        return employeeRepository.findAll();
+        return withPendingUpdates(employeeRepository.findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public void streamEmployees(Consumer<Employee> employeeConsumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                employeeConsumer.accept(withPendingUpdate(employee));
+                entityManager.detach(employee);
+            });
+        }
     }
 
+    // Employees with queued updates are read past the cache: a row read while their flush commits could
+    // otherwise be cached after the flush evicted it, and outlive the overlay.
+    @Transactional(readOnly = true)
     public Employee findEmployeeById(Integer employeeId) {
-        return employeeRepository.findById(employeeId).orElseThrow(() -> new EmployeeNotFoundException("Employee not found"));
+        EmployeeWriteBehind writeBehind = employeeWriteBehind.getIfAvailable();
+        Optional<Employee> employee = writeBehind != null && writeBehind.hasPendingUpdate(employeeId)
+                ? employeeRepository.findById(employeeId)
+                : employeeCache.findById(employeeId);
+        return withPendingUpdate(employee.orElseThrow(() -> new EmployeeNotFoundException("Employee not found")));
+    }
+
+    // The version check and the body load share one transaction, so both are read from the same datasource.
+    @Transactional(readOnly = true)
+    public Optional<Employee> findEmployeeIfModified(Integer employeeId, Predicate<Long> notModified) {
+        Optional<Long> version = findEmployeeVersion(employeeId);
+        if (version.isPresent() && notModified.test(version.get())) {
+            return Optional.empty();
+        }
+        return Optional.of(findEmployeeById(employeeId));
+    }
+
+    // An employee with queued updates has no version that matches what it reads as.
+    public Optional<Long> findEmployeeVersion(Integer employeeId) {
+        EmployeeWriteBehind writeBehind = employeeWriteBehind.getIfAvailable();
+        if (writeBehind != null && writeBehind.hasPendingUpdate(employeeId)) {
+            return Optional.empty();
+        }
+        return employeeRepository.findVersionById(employeeId);
     }
 
     public List<Employee> findEmployeeByGender(String gender){
+        flushPendingUpdates();
         return employeeRepository.findEmployeeByGender(gender);
     }
 
+    public List<SalaryStats> findSalaryStats(String groupBy) {
+        flushPendingUpdates();
+        switch (groupBy) {
+            case "gender":
+                return employeeRepository.findSalaryStatsGroupByGender();
+            case "companyId":
+                return employeeRepository.findSalaryStatsGroupByCompanyId();
+            case "ageBucket":
+                return employeeRepository.findSalaryStatsGroupByAgeBucket();
+            default:
+                throw new InvalidQueryParameterException("groupBy must be one of gender, companyId, ageBucket.");
+        }
+    }
+
+    public Optional<SalaryStats> findCompanySalaryStats(Integer companyId) {
+        flushPendingUpdates();
+        return employeeRepository.findSalaryStatsByCompanyId(companyId);
+    }
+
+    @Transactional(readOnly = true)
     public List<Employee> findEmployeesByPagination(Integer pageIndex, Integer pageSize){
-        return employeeRepository.findAll(PageRequest.of(pageIndex, pageSize)).getContent();
+        return withPendingUpdates(employeeRepository.findAll(PageRequest.of(pageIndex, pageSize)).getContent());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> findEmployeesAfter(String cursor, Integer limit) {
+        List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(Cursors.decodeId(cursor), Cursors.firstRowsWithLookAhead(limit));
+        return CursorPage.of(withPendingUpdates(employees), limit, Employee::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeRow> queryEmployees(EmployeeQuery employeeQuery) {
+        String sort = employeeQuery.getSort();
+        String direction = employeeQuery.getDirection();
+        if (!QUERY_SORT_FIELDS.contains(sort)) {
+            throw new InvalidQueryParameterException("sort must be one of id, name, age, salary.");
+        }
+        if (!QUERY_DIRECTIONS.contains(direction)) {
+            throw new InvalidQueryParameterException("direction must be asc or desc.");
+        }
+        int rowsWithLookAhead = Cursors.firstRowsWithLookAhead(employeeQuery.getLimit()).getPageSize();
+        boolean ascending = "asc".equals(direction);
+        SortKeyCursor cursor = SortKeyCursor.decode(employeeQuery.getAfter(), sort, direction);
+        flushPendingUpdates();
+        Specification<Employee> filters = Specification.where(EmployeeSpecifications.hasGender(employeeQuery.getGender()))
+                .and(EmployeeSpecifications.hasCompanyId(employeeQuery.getCompanyId()))
+                .and(EmployeeSpecifications.ageBetween(employeeQuery.getMinAge(), employeeQuery.getMaxAge()))
+                .and(EmployeeSpecifications.salaryBetween(employeeQuery.getMinSalary(), employeeQuery.getMaxSalary()));
+        // Rows without a sort value come last; they are only read once the rows with one run out.
+        boolean cursorWithoutSortValue = cursor != null && cursor.getValue() == null && !"id".equals(sort);
+        List<EmployeeRow> employees = new ArrayList<>();
+        if (!cursorWithoutSortValue) {
+            employees.addAll(employeeRepository.findFirst(filters.and(EmployeeSpecifications.sortedAfter(sort, ascending, cursor)), rowsWithLookAhead));
+        }
+        if (employees.size() < rowsWithLookAhead && !"id".equals(sort)) {
+            employees.addAll(employeeRepository.findFirst(filters.and(EmployeeSpecifications.withoutSortValueAfter(sort, ascending,
+                    cursorWithoutSortValue ? cursor : null)), rowsWithLookAhead - employees.size()));
+        }
+        int limit = employeeQuery.getLimit();
+        if (employees.size() <= limit) {
+            return new CursorPage<>(employees, null);
+        }
+        EmployeeRow last = employees.get(limit - 1);
+        return new CursorPage<>(employees.subList(0, limit), SortKeyCursor.encode(sort, direction, last.getId(), sortValue(last, sort)));
+    }
+
+    private static Object sortValue(EmployeeRow employee, String sort) {
+        switch (sort) {
+            case "name":
+                return employee.getName();
+            case "age":
+                return employee.getAge();
+            case "salary":
+                return employee.getSalary();
+            default:
+                return employee.getId();
+        }
+    }
+
+    // Ids left behind by bulk deletes are dropped from the index here, when a search first meets them.
+    public CursorPage<Employee> searchEmployees(String query, String cursor, Integer limit) {
+        flushPendingUpdates();
+        List<String> queryTokens = EmployeeNameIndex.tokenize(query);
+        if (queryTokens.isEmpty()) {
+            throw new InvalidQueryParameterException("Search query must contain at least one letter or digit.");
+        }
+        int rowsWithLookAhead = Cursors.firstRowsWithLookAhead(limit).getPageSize();
+        int afterId = Cursors.decodeId(cursor);
+        List<Employee> employees = new ArrayList<>();
+        while (employees.size() < rowsWithLookAhead) {
+            List<Integer> employeeIds = employeeNameIndex.search(queryTokens, afterId, rowsWithLookAhead - employees.size());
+            if (employeeIds.isEmpty()) {
+                break;
+            }
+            Map<Integer, Employee> employeesById = employeeRepository.findAllById(employeeIds).stream()
+                    .collect(Collectors.toMap(Employee::getId, Function.identity()));
+            for (Integer employeeId : employeeIds) {
+                Employee employee = employeesById.get(employeeId);
+                if (employee == null) {
+                    employeeNameIndex.remove(employeeId);
+                } else {
+                    employees.add(employee);
+                }
+            }
+            afterId = employeeIds.get(employeeIds.size() - 1);
+        }
+        return CursorPage.of(employees, limit, Employee::getId);
     }
 
     public Employee addEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee createdEmployee = employeeRepository.save(employee);
+        companyModified(createdEmployee.getCompanyId());
+        TransactionCallbacks.afterCommit(() -> employeeNameIndex.put(createdEmployee.getId(), createdEmployee.getName()));
+        TransactionCallbacks.afterCommit(() -> employeeChangeFeed.publish(ChangeEvent.CREATED, createdEmployee.getId(), createdEmployee.getCompanyId()));
+        return createdEmployee;
     }
 
-    public Employee updateEmployee(Integer employeeId, Employee employeeToBeUpdated) {
-        Employee employee = employeeRepository.findById(employeeId).orElse(null);
-        if (employee == null) {
-            throw new EmployeeNotFoundException("Employee not found. Cannot update non-existent employee.");
+    public EmployeeBatchResponse addEmployees(List<Employee> employees) {
+        List<EmployeeBatchChunkResult> chunkResults = new ArrayList<>();
+        int inserted = 0;
+        for (int firstRow = 0; firstRow < employees.size(); firstRow += batchChunkSize) {
+            List<Employee> chunk = employees.subList(firstRow, Math.min(firstRow + batchChunkSize, employees.size()));
+            EmployeeBatchChunkResult chunkResult = insertChunk(chunkResults.size(), firstRow, chunk);
+            if (EmployeeBatchChunkResult.INSERTED.equals(chunkResult.getStatus())) {
+                inserted += chunk.size();
+            }
+            chunkResults.add(chunkResult);
         }
-        return updateEmployeeInfo(employee, employeeToBeUpdated);
+        return new EmployeeBatchResponse(employees.size(), inserted, employees.size() - inserted, chunkResults);
     }
 
-    private Employee updateEmployeeInfo(Employee employee, Employee employeeToBeUpdated) {
-        if (employeeToBeUpdated.getName() != null) {
-            employee.setName(employeeToBeUpdated.getName());
+    public EmployeeImportResponse importEmployees(BufferedReader csv) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(csv);
+        String header = records.readRecord();
+        if (header == null) {
+            throw new InvalidCsvException("CSV is empty. Expected a header line with columns " + EmployeeCsv.HEADER + ".");
         }
-        if (employeeToBeUpdated.getAge() != null) {
-            employee.setAge(employeeToBeUpdated.getAge());
+        Map<String, Integer> columnIndexes;
+        try {
+            columnIndexes = EmployeeCsv.columnIndexes(header);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCsvException("Invalid CSV header. " + exception.getMessage());
         }
-        if (employeeToBeUpdated.getGender() != null) {
-            employee.setGender(employeeToBeUpdated.getGender());
+        List<EmployeeImportError> errors = new ArrayList<>();
+        List<Employee> chunk = new ArrayList<>(batchChunkSize);
+        List<Integer> chunkLines = new ArrayList<>(batchChunkSize);
+        int rows = 0;
+        int failed = 0;
+        for (String record = records.readRecord(); record != null; record = records.readRecord()) {
+            if (record.isEmpty()) {
+                continue;
+            }
+            int lineNumber = records.getRecordLineNumber();
+            rows++;
+            try {
+                chunk.add(EmployeeCsv.toEmployee(record, columnIndexes));
+                chunkLines.add(lineNumber);
+            } catch (IllegalArgumentException exception) {
+                failed++;
+                reportImportError(errors, lineNumber, exception.getMessage());
+            }
+            if (chunk.size() == batchChunkSize) {
+                failed += importChunk(chunk, chunkLines, errors);
+            }
         }
-        if (employeeToBeUpdated.getSalary() != null) {
-            employee.setSalary(employeeToBeUpdated.getSalary());
+        if (!chunk.isEmpty()) {
+            failed += importChunk(chunk, chunkLines, errors);
         }
-        if (employeeToBeUpdated.getCompanyId() != null) {
-            employee.setCompanyId(employeeToBeUpdated.getCompanyId());
+        return new EmployeeImportResponse(rows, rows - failed, failed, errors, failed > errors.size());
+    }
+
+    private int importChunk(List<Employee> chunk, List<Integer> chunkLines, List<EmployeeImportError> errors) {
+        EmployeeBatchChunkResult chunkResult = insertChunk(0, chunkLines.get(0), chunk);
+        int failed = 0;
+        if (EmployeeBatchChunkResult.FAILED.equals(chunkResult.getStatus())) {
+            // One bad row rolls back the whole chunk, so its rows are retried one by one: the good ones are
+            // imported and only the lines that fail on their own are reported.
+            for (int index = 0; index < chunk.size(); index++) {
+                EmployeeBatchChunkResult rowResult = insertChunk(0, chunkLines.get(index), Collections.singletonList(copyOf(chunk.get(index))));
+                if (EmployeeBatchChunkResult.FAILED.equals(rowResult.getStatus())) {
+                    failed++;
+                    reportImportError(errors, chunkLines.get(index), rowResult.getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+        return failed;
+    }
+
+    // The rolled back persist left a generated id on the entity, which would make it look detached.
+    private static Employee copyOf(Employee employee) {
+        Employee copy = new Employee(employee.getName(), employee.getAge(), employee.getGender(), employee.getSalary());
+        copy.setCompanyId(employee.getCompanyId());
+        return copy;
+    }
+
+    private void reportImportError(List<EmployeeImportError> errors, Integer line, String message) {
+        if (errors.size() < MAX_REPORTED_IMPORT_ERRORS) {
+            errors.add(new EmployeeImportError(line, message));
+        }
+    }
+
+    private EmployeeBatchChunkResult insertChunk(Integer chunkIndex, Integer firstRow, List<Employee> chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                chunk.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            chunk.stream().map(Employee::getCompanyId).distinct().forEach(this::companyModified);
+            chunk.forEach(employee -> employeeNameIndex.put(employee.getId(), employee.getName()));
+            chunk.forEach(employee -> employeeChangeFeed.publish(ChangeEvent.CREATED, employee.getId(), employee.getCompanyId()));
+            return EmployeeBatchChunkResult.inserted(chunkIndex, firstRow, chunk.stream().map(Employee::getId).collect(Collectors.toList()));
+        } catch (DataAccessException | PersistenceException | TransactionException exception) {
+            return EmployeeBatchChunkResult.failed(chunkIndex, firstRow, chunk.size(), exception.getMessage());
         }
+    }
 
-        employeeRepository.save(employee);
-        return employee;
+    @Transactional
+    public Employee updateEmployee(Integer employeeId, Employee employeeToBeUpdated, Long expectedVersion) {
+        flushPendingUpdates();
+        if (employeeToBeUpdated.getCompanyId() != null) {
+            employeeRepository.findCompanyIdById(employeeId).ifPresent(this::companyModified);
+        }
+        if (employeeRepository.updateNonNullFields(employeeId, employeeToBeUpdated, expectedVersion) == 0) {
+            if (expectedVersion != null && employeeRepository.findVersionById(employeeId).isPresent()) {
+                throw new PreconditionFailedException("Employee has been modified. Cannot update a stale version.");
+            }
+            throw new EmployeeNotFoundException("Employee not found. Cannot update non-existent employee.");
+        }
+        employeeUpdated(employeeId, employeeToBeUpdated);
+        Employee updatedEmployee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found. Cannot update non-existent employee."));
+        companyModified(updatedEmployee.getCompanyId());
+        if (employeeToBeUpdated.getName() != null) {
+            TransactionCallbacks.afterCommit(() -> employeeNameIndex.put(employeeId, updatedEmployee.getName()));
+        }
+        TransactionCallbacks.afterCommit(() -> employeeChangeFeed.publish(ChangeEvent.UPDATED, employeeId, updatedEmployee.getCompanyId()));
+        return updatedEmployee;
     }
 
+    @Transactional
     public void deleteEmployee(Integer employeeId) {
-        Employee employee = employeeRepository.findById(employeeId).orElse(null);
-        if (employee == null) {
+        if (employeeRepository.deleteEmployeeById(employeeId) == 0) {
             throw new EmployeeNotFoundException("Employee not found. Cannot delete non-existent employee.");
         }
-        employeeRepository.delete(employee);
+        entityCaches.evictEmployee(employeeId);
+        entityCaches.evictEmployeesByGender();
+        employeeJsonCache.evict(employeeId);
+        TransactionCallbacks.afterCommit(() -> employeeNameIndex.remove(employeeId));
+        TransactionCallbacks.afterCommit(() -> employeeChangeFeed.publish(ChangeEvent.DELETED, employeeId, null));
+        // Nothing is read before the delete, so the employee's company is not known here.
+        entityCaches.evictAllCompanies();
+        modificationCounter.allCompaniesModified();
+    }
+
+    @Transactional
+    public void deleteCompanyEmployees(Integer companyId) {
+        if (employeeRepository.deleteByCompanyId(companyId) > 0) {
+            entityCaches.evictAllEmployees();
+            employeeJsonCache.evictAll();
+            modificationCounter.companyModified(companyId);
+            TransactionCallbacks.afterCommit(() -> employeeChangeFeed.publish(ChangeEvent.DELETED, null, companyId));
+        }
+    }
+
+    public void reassignCompanyEmployees(Integer companyId, Integer targetCompanyId) {
+        if (employeeRepository.reassignByCompanyId(companyId, targetCompanyId) > 0) {
+            entityCaches.evictAllEmployees();
+            employeeJsonCache.evictAll();
+            companyModified(companyId);
+            companyModified(targetCompanyId);
+            TransactionCallbacks.afterCommit(() -> employeeChangeFeed.publish(ChangeEvent.UPDATED, null, targetCompanyId));
+        }
+    }
+
+    public void detachCompanyEmployees(Integer companyId) {
+        if (employeeRepository.detachByCompanyId(companyId) > 0) {
+            entityCaches.evictAllEmployees();
+            employeeJsonCache.evictAll();
+            companyModified(companyId);
+            TransactionCallbacks.afterCommit(() -> employeeChangeFeed.publish(ChangeEvent.UPDATED, null, companyId));
+        }
+    }
+
+    // Filtered and aggregated reads cannot overlay queued updates, so those are written out first.
+    public void flushPendingUpdates() {
+        EmployeeWriteBehind writeBehind = employeeWriteBehind.getIfAvailable();
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+    }
+
+    public void pendingUpdateQueued(Employee employee, Employee update) {
+        entityCaches.evictEmployee(employee.getId());
+        companyModified(employee.getCompanyId());
+        if (update.getCompanyId() != null) {
+            companyModified(update.getCompanyId());
+        }
+    }
+
+    // Runs in its own transaction, since flushes also start from inside read-only ones.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void applyPendingUpdates(Map<Integer, Employee> updates) {
+        updates.forEach((employeeId, update) -> {
+            Optional<Integer> previousCompanyId = employeeRepository.findCompanyIdById(employeeId);
+            if (employeeRepository.updateNonNullFields(employeeId, update, null) == 0) {
+                return;
+            }
+            employeeUpdated(employeeId, update);
+            previousCompanyId.ifPresent(this::companyModified);
+            companyModified(update.getCompanyId());
+            if (update.getName() != null) {
+                TransactionCallbacks.afterCommit(() -> employeeNameIndex.put(employeeId, update.getName()));
+            }
+            Integer companyId = update.getCompanyId() != null ? update.getCompanyId() : previousCompanyId.orElse(null);
+            TransactionCallbacks.afterCommit(() -> employeeChangeFeed.publish(ChangeEvent.UPDATED, employeeId, companyId));
+        });
+    }
+
+    private void employeeUpdated(Integer employeeId, Employee update) {
+        entityCaches.evictEmployee(employeeId);
+        if (update.getGender() != null) {
+            entityCaches.evictEmployeesByGender();
+        }
+        employeeJsonCache.evict(employeeId);
+    }
+
+    private List<Employee> withPendingUpdates(List<Employee> employees) {
+        EmployeeWriteBehind writeBehind = employeeWriteBehind.getIfAvailable();
+        if (writeBehind == null) {
+            return employees;
+        }
+        return employees.stream().map(writeBehind::withPendingUpdate).collect(Collectors.toList());
+    }
+
+    private Employee withPendingUpdate(Employee employee) {
+        EmployeeWriteBehind writeBehind = employeeWriteBehind.getIfAvailable();
+        return writeBehind == null ? employee : writeBehind.withPendingUpdate(employee);
+    }
+
+    private void companyModified(Integer companyId) {
+        entityCaches.evictCompany(companyId);
+        modificationCounter.companyModified(companyId);
     }
 }
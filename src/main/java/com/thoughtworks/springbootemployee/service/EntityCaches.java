@@ -0,0 +1,139 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.model.CacheRegions;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.hibernate.Session;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+@Component
+public class EntityCaches {
+    public static final String EMPLOYEES = "employees";
+    public static final String COMPANIES = "companies";
+
+    // Employees are written through their companyId column, which Hibernate does not treat as a change
+    // to Company.employees, so the cached collections are evicted together with the company.
+    private static final String COMPANY_EMPLOYEES_ROLE = Company.class.getName() + ".employees";
+
+    private CacheManager cacheManager;
+    private org.hibernate.Cache secondLevelCache;
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EntityCaches(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+    }
+
+    // Entries are copies that are never handed out: every hit returns a copy of its own, so readers can neither
+    // share nor change what is cached. A loaded row is kept only if no eviction from its cache happened while it
+    // was read, since it may then predate a write whose eviction has already run; rows read where Hibernate may
+    // not fill the second-level cache, from a replica, are not kept either.
+    <T> Optional<T> readThrough(String cacheName, Integer id, Supplier<Optional<T>> loader, UnaryOperator<T> copy) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        @SuppressWarnings("unchecked")
+        T cached = (T) cache.get(id, Object.class);
+        if (cached != null) {
+            return Optional.of(copy.apply(cached));
+        }
+        long generation = generation(cacheName).get();
+        Optional<T> loaded = loader.get();
+        if (loaded.isPresent() && entityManager.unwrap(Session.class).getCacheMode().isPutEnabled()) {
+            cache.put(id, copy.apply(loaded.get()));
+            if (generation(cacheName).get() != generation) {
+                cache.evict(id);
+            }
+        }
+        return loaded;
+    }
+
+    // Single rows are written with statements Hibernate does not follow with any second-level cache eviction
+    // (see SingleRowStatements), so their writers evict the row here.
+    public void evictEmployee(Integer employeeId) {
+        evict(EMPLOYEES, employeeId);
+        if (employeeId != null) {
+            evictNowAndAfterCompletion(() -> secondLevelCache.evictEntityData(Employee.class, employeeId));
+        }
+    }
+
+    public void evictEmployeesByGender() {
+        evictNowAndAfterCompletion(() -> secondLevelCache.evictQueryRegion(CacheRegions.EMPLOYEES_BY_GENDER));
+    }
+
+    public void evictCompany(Integer companyId) {
+        evict(COMPANIES, companyId);
+        if (companyId != null) {
+            evictNowAndAfterCompletion(() -> secondLevelCache.evictCollectionData(COMPANY_EMPLOYEES_ROLE, companyId));
+        }
+    }
+
+    public void evictCompanyRow(Integer companyId) {
+        evictCompany(companyId);
+        evictNowAndAfterCompletion(() -> secondLevelCache.evictEntityData(Company.class, companyId));
+    }
+
+    public void evictCompanyIds() {
+        evictNowAndAfterCompletion(() -> secondLevelCache.evictQueryRegion(CacheRegions.COMPANY_IDS));
+    }
+
+    public void evictAllEmployees() {
+        evictAll(EMPLOYEES);
+    }
+
+    public void evictAllCompanies() {
+        evictAll(COMPANIES);
+        evictNowAndAfterCompletion(() -> secondLevelCache.evictCollectionData(COMPANY_EMPLOYEES_ROLE));
+    }
+
+    // Evicted right away, so that the writing transaction reads the row back from the database, and again once
+    // it has completed, since the read back, or a concurrent reader, may have put the old row in meanwhile.
+    private void evictNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        TransactionCallbacks.afterCompletion(eviction);
+    }
+
+    private void evict(String cacheName, Integer id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && id != null) {
+            evictEntries(cacheName, () -> cache.evict(id));
+        }
+    }
+
+    private void evictAll(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            evictEntries(cacheName, cache::clear);
+        }
+    }
+
+    // Each of the two evictions moves the generation on first, which stops readThrough keeping a row it
+    // loaded before either of them.
+    private void evictEntries(String cacheName, Runnable eviction) {
+        AtomicLong generation = generation(cacheName);
+        evictNowAndAfterCompletion(() -> {
+            generation.incrementAndGet();
+            eviction.run();
+        });
+    }
+
+    private AtomicLong generation(String cacheName) {
+        return generations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+}
@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ModificationCounter {
+    // seeded from the clock so revisions handed out before a restart are not reused after it
+    private final AtomicLong revision = new AtomicLong(System.currentTimeMillis());
+    private final ConcurrentMap<Integer, Long> companyRevisions = new ConcurrentHashMap<>();
+    private final long initialRevision = revision.get();
+    private volatile long allCompaniesRevision = initialRevision;
+
+    public long currentRevision() {
+        return revision.get();
+    }
+
+    public long companyRevision(Integer companyId) {
+        return Math.max(companyRevisions.getOrDefault(companyId, initialRevision), allCompaniesRevision);
+    }
+
+    public void employeesModified() {
+        TransactionCallbacks.afterCompletion(revision::incrementAndGet);
+    }
+
+    public void companyModified(Integer companyId) {
+        if (companyId == null) {
+            employeesModified();
+            return;
+        }
+        TransactionCallbacks.afterCompletion(() -> companyRevisions.merge(companyId, revision.incrementAndGet(), Math::max));
+    }
+
+    public void allCompaniesModified() {
+        TransactionCallbacks.afterCompletion(() -> allCompaniesRevision = revision.incrementAndGet());
+    }
+}
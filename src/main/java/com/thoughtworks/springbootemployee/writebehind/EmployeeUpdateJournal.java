@@ -0,0 +1,133 @@
+package com.thoughtworks.springbootemployee.writebehind;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Append-only JSON lines, split into numbered segments. Every append is forced to disk before it
+// returns. A flush rotates to a new segment and deletes the old ones once they are in the database.
+public class EmployeeUpdateJournal implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeUpdateJournal.class);
+    private static final String SEGMENT_PREFIX = "employee-updates-";
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+
+    private final Path directory;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private long lastSegmentNumber;
+    private FileChannel segment;
+
+    public EmployeeUpdateJournal(Path directory, ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.writer = objectMapper.writerFor(PendingEmployeeUpdate.class);
+        this.reader = objectMapper.readerFor(PendingEmployeeUpdate.class);
+        this.lastSegmentNumber = segments().stream().mapToLong(EmployeeUpdateJournal::segmentNumber).max().orElse(0);
+    }
+
+    public synchronized void append(PendingEmployeeUpdate update) {
+        try {
+            if (segment == null) {
+                lastSegmentNumber++;
+                segment = FileChannel.open(directory.resolve(SEGMENT_PREFIX + lastSegmentNumber + SEGMENT_SUFFIX),
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteBuffer line = ByteBuffer.wrap((writer.writeValueAsString(update) + '\n').getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                segment.write(line);
+            }
+            segment.force(false);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    // Closes the segment being written and returns all segments; later appends go to a new segment.
+    public synchronized List<Path> rotate() {
+        closeSegment();
+        return segments();
+    }
+
+    public synchronized void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+
+    // A line that cannot be parsed is skipped: normally it is the torn tail of an append that never
+    // returned, so its update was never acknowledged.
+    public synchronized List<PendingEmployeeUpdate> replay() {
+        List<PendingEmployeeUpdate> updates = new ArrayList<>();
+        for (Path segment : rotate()) {
+            try (BufferedReader lines = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    try {
+                        updates.add(reader.readValue(line));
+                    } catch (JsonProcessingException exception) {
+                        LOGGER.warn("Skipping unreadable line in {}: {}", segment.getFileName(), exception.getOriginalMessage());
+                    }
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+        return updates;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeSegment();
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            segment = null;
+        }
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                    && file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(EmployeeUpdateJournal::segmentNumber))
+                    .collect(Collectors.toList());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,148 @@
+package com.thoughtworks.springbootemployee.writebehind;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Unconditional employee PUTs are acknowledged once journaled, merged per employee id, and written
+// to the database by a periodic flush in one transaction. Reads overlay what is still pending.
+public class EmployeeWriteBehind implements SmartInitializingSingleton, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeWriteBehind.class);
+    private static final int MAX_FAILED_FLUSHES = 3;
+
+    private final EmployeeService employeeService;
+    private final EmployeeUpdateJournal journal;
+    private final int maxPendingEmployees;
+    private final Object queueLock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Swapped under queueLock and read without it: readers look at pending first, then flushing.
+    private volatile Map<Integer, PendingEmployeeUpdate> pending = new ConcurrentHashMap<>();
+    private volatile Map<Integer, PendingEmployeeUpdate> flushing = Collections.emptyMap();
+
+    public EmployeeWriteBehind(EmployeeService employeeService, EmployeeUpdateJournal journal, int maxPendingEmployees) {
+        this.employeeService = employeeService;
+        this.journal = journal;
+        this.maxPendingEmployees = maxPendingEmployees;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<PendingEmployeeUpdate> journaledUpdates = journal.replay();
+        if (journaledUpdates.isEmpty()) {
+            return;
+        }
+        journaledUpdates.forEach(update -> pending.merge(update.getEmployeeId(), update, PendingEmployeeUpdate::merge));
+        LOGGER.info("Replaying {} journaled updates for {} employees", journaledUpdates.size(), pending.size());
+        flush();
+    }
+
+    public Employee enqueue(Integer employeeId, Employee update) {
+        Employee employee = employeeService.findEmployeeById(employeeId);
+        PendingEmployeeUpdate pendingUpdate = PendingEmployeeUpdate.of(employeeId, update);
+        // The bound is checked where the update is queued; flushing takes queueLock itself, so a full
+        // queue is flushed outside it and the check repeated.
+        while (true) {
+            synchronized (queueLock) {
+                if (pending.size() < maxPendingEmployees || pending.containsKey(employeeId)) {
+                    journal.append(pendingUpdate);
+                    pending.merge(employeeId, pendingUpdate, PendingEmployeeUpdate::merge);
+                    break;
+                }
+            }
+            flush();
+        }
+        employeeService.pendingUpdateQueued(employee, update);
+        return pendingUpdate.applyTo(employee);
+    }
+
+    public boolean hasPendingUpdate(Integer employeeId) {
+        return pending.containsKey(employeeId) || flushing.containsKey(employeeId);
+    }
+
+    public Employee withPendingUpdate(Employee employee) {
+        PendingEmployeeUpdate pendingUpdate = pending.get(employee.getId());
+        PendingEmployeeUpdate flushingUpdate = flushing.get(employee.getId());
+        if (flushingUpdate != null) {
+            pendingUpdate = flushingUpdate.merge(pendingUpdate);
+        }
+        return pendingUpdate == null ? employee : pendingUpdate.applyTo(employee);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.write-behind.flush-interval:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            Map<Integer, PendingEmployeeUpdate> snapshot;
+            List<Path> segments;
+            synchronized (queueLock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                snapshot = pending;
+                flushing = snapshot;
+                pending = new ConcurrentHashMap<>();
+                segments = journal.rotate();
+            }
+            try {
+                employeeService.applyPendingUpdates(toEmployees(snapshot));
+            } catch (RuntimeException exception) {
+                LOGGER.warn("Flushing {} employee updates failed, retrying them one by one", snapshot.size(), exception);
+                flushOneByOne(snapshot);
+            }
+            flushing = Collections.emptyMap();
+            journal.delete(segments);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Updates that still fail go back to the queue, journaled again in their merged form so that the
+    // segments just rotated out can be deleted. After a few failed flushes an update is dropped.
+    private void flushOneByOne(Map<Integer, PendingEmployeeUpdate> snapshot) {
+        snapshot.forEach((employeeId, update) -> {
+            try {
+                employeeService.applyPendingUpdates(Collections.singletonMap(employeeId, update.toEmployee()));
+            } catch (RuntimeException exception) {
+                if (update.failedFlush() >= MAX_FAILED_FLUSHES) {
+                    LOGGER.error("Dropping update for employee {} after {} failed flushes", employeeId, MAX_FAILED_FLUSHES, exception);
+                    return;
+                }
+                synchronized (queueLock) {
+                    PendingEmployeeUpdate requeued = update.merge(pending.get(employeeId));
+                    journal.append(requeued);
+                    pending.put(employeeId, requeued);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private static Map<Integer, Employee> toEmployees(Map<Integer, PendingEmployeeUpdate> updates) {
+        Map<Integer, Employee> employees = new LinkedHashMap<>();
+        updates.forEach((employeeId, update) -> employees.put(employeeId, update.toEmployee()));
+        return employees;
+    }
+}
@@ -0,0 +1,118 @@
+package com.thoughtworks.springbootemployee.writebehind;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.thoughtworks.springbootemployee.model.Employee;
+
+// The non-null fields of one or more PUTs for an employee. This is also the journal line format.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PendingEmployeeUpdate {
+    private Integer employeeId;
+    private String name;
+    private Integer age;
+    private String gender;
+    private Integer salary;
+    private Integer companyId;
+    @JsonIgnore
+    private int failedFlushes;
+
+    public PendingEmployeeUpdate() {
+    }
+
+    public static PendingEmployeeUpdate of(Integer employeeId, Employee update) {
+        PendingEmployeeUpdate pendingUpdate = new PendingEmployeeUpdate();
+        pendingUpdate.employeeId = employeeId;
+        pendingUpdate.name = update.getName();
+        pendingUpdate.age = update.getAge();
+        pendingUpdate.gender = update.getGender();
+        pendingUpdate.salary = update.getSalary();
+        pendingUpdate.companyId = update.getCompanyId();
+        return pendingUpdate;
+    }
+
+    // Field by field the later update wins, the same as applying both PUTs one after the other.
+    public PendingEmployeeUpdate merge(PendingEmployeeUpdate later) {
+        if (later == null) {
+            return this;
+        }
+        PendingEmployeeUpdate merged = new PendingEmployeeUpdate();
+        merged.employeeId = employeeId;
+        merged.name = later.name != null ? later.name : name;
+        merged.age = later.age != null ? later.age : age;
+        merged.gender = later.gender != null ? later.gender : gender;
+        merged.salary = later.salary != null ? later.salary : salary;
+        merged.companyId = later.companyId != null ? later.companyId : companyId;
+        merged.failedFlushes = failedFlushes;
+        return merged;
+    }
+
+    public Employee toEmployee() {
+        Employee employee = new Employee(name, age, gender, salary);
+        employee.setCompanyId(companyId);
+        return employee;
+    }
+
+    // A detached copy without a version: it no longer matches any row version in the database.
+    public Employee applyTo(Employee employee) {
+        Employee updatedEmployee = new Employee(
+                name != null ? name : employee.getName(),
+                age != null ? age : employee.getAge(),
+                gender != null ? gender : employee.getGender(),
+                salary != null ? salary : employee.getSalary());
+        updatedEmployee.setId(employee.getId());
+        updatedEmployee.setCompanyId(companyId != null ? companyId : employee.getCompanyId());
+        return updatedEmployee;
+    }
+
+    int failedFlush() {
+        return ++failedFlushes;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public Integer getSalary() {
+        return salary;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public void setSalary(Integer salary) {
+        this.salary = salary;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+}
@@ -0,0 +1,3 @@
+CREATE SEQUENCE if NOT EXISTS employee_seq
+  START WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM employee)
+  INCREMENT BY 50;
@@ -0,0 +1,4 @@
+CREATE INDEX if NOT EXISTS idx_employee_gender ON employee(gender);
+CREATE INDEX if NOT EXISTS idx_employee_company_id ON employee(company_id);
+CREATE INDEX if NOT EXISTS idx_employee_company_id_gender ON employee(company_id, gender);
+CREATE INDEX if NOT EXISTS idx_employee_gender_age ON employee(gender, age);
@@ -0,0 +1,2 @@
+ALTER TABLE employee ADD COLUMN version bigint default 0 not null;
+ALTER TABLE company ADD COLUMN version bigint default 0 not null;
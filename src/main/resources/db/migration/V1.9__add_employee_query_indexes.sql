@@ -0,0 +1,7 @@
+CREATE INDEX if NOT EXISTS idx_employee_company_id_gender_age ON employee(company_id, gender, age);
+CREATE INDEX if NOT EXISTS idx_employee_company_id_salary ON employee(company_id, salary);
+CREATE INDEX if NOT EXISTS idx_employee_gender_salary ON employee(gender, salary);
+CREATE INDEX if NOT EXISTS idx_employee_age ON employee(age);
+CREATE INDEX if NOT EXISTS idx_employee_salary ON employee(salary);
+DROP INDEX if EXISTS idx_employee_company_id_gender;
+DROP INDEX if EXISTS idx_employee_gender;
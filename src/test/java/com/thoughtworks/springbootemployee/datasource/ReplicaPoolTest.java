@@ -0,0 +1,57 @@
+package com.thoughtworks.springbootemployee.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ReplicaPoolTest {
+    @Test
+    void should_round_robin_over_healthy_replicas_only_when_next_healthy_replica() {
+        // Given
+        ReplicaPool replicaPool = new ReplicaPool(Arrays.asList(
+                replica("replica-0", "jdbc:h2:mem:replica-0"),
+                replica("replica-1", "jdbc:h2:file:./build/h2/routing/missing;IFEXISTS=TRUE"),
+                replica("replica-2", "jdbc:h2:mem:replica-2")));
+
+        // When
+        Set<String> picked = new HashSet<>();
+        for (int call = 0; call < 6; call++) {
+            picked.add(replicaPool.nextHealthyReplica());
+        }
+        replicaPool.close();
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList("replica-0", "replica-2")), picked);
+        assertEquals(2, replicaPool.countHealthy());
+    }
+
+    @Test
+    void should_return_null_when_next_healthy_replica_given_every_replica_is_down() {
+        // Given
+        ReplicaPool replicaPool = new ReplicaPool(Arrays.asList(
+                replica("replica-0", "jdbc:h2:file:./build/h2/routing/missing;IFEXISTS=TRUE")));
+
+        // When
+        String picked = replicaPool.nextHealthyReplica();
+        replicaPool.close();
+
+        // Then
+        assertNull(picked);
+    }
+
+    private static HikariDataSource replica(String name, String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("sa");
+        dataSource.setConnectionTimeout(250);
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+}
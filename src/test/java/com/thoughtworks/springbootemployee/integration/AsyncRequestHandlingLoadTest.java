@@ -0,0 +1,101 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "employee.async.enabled=true",
+        "employee.async.max-concurrency=64",
+        "server.tomcat.threads.max=4",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.datasource.url=jdbc:h2:mem:asyncload;LOCK_TIMEOUT=10000"
+})
+public class AsyncRequestHandlingLoadTest {
+    private static final int TOMCAT_THREADS = 4;
+    private static final int CONCURRENT_REQUESTS = 16;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_keep_more_database_calls_in_flight_than_tomcat_threads_when_async_mode_enabled() throws Exception {
+        // Given
+        Employee employee = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> request = new HttpEntity<>("{ \"salary\": 6000 }", headers);
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        List<CompletableFuture<ResponseEntity<String>>> responses = new ArrayList<>();
+        int peakActiveConnections;
+
+        // When
+        try (Connection lockHolder = dataSource.getConnection()) {
+            lockHolder.setAutoCommit(false);
+            try (PreparedStatement statement = lockHolder.prepareStatement("update employee set salary = salary where id = ?")) {
+                statement.setInt(1, employee.getId());
+                statement.executeUpdate();
+            }
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                responses.add(CompletableFuture.supplyAsync(() -> testRestTemplate.exchange(
+                        "/employees/" + employee.getId(), HttpMethod.PUT, request, String.class), clients));
+            }
+            peakActiveConnections = awaitActiveConnections(hikariDataSource, CONCURRENT_REQUESTS + 1);
+            lockHolder.rollback();
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        clients.shutdown();
+
+        // Then
+        assertTrue(peakActiveConnections > TOMCAT_THREADS + 1,
+                "expected more blocked database calls than request threads, saw " + peakActiveConnections);
+        for (CompletableFuture<ResponseEntity<String>> response : responses) {
+            assertEquals(HttpStatus.OK, response.get().getStatusCode());
+        }
+        assertEquals(6000, employeeRepository.findById(employee.getId()).get().getSalary());
+    }
+
+    private int awaitActiveConnections(HikariDataSource hikariDataSource, int expected) throws InterruptedException {
+        int peak = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (peak < expected && System.nanoTime() < deadline) {
+            peak = Math.max(peak, hikariDataSource.getHikariPoolMXBean().getActiveConnections());
+            Thread.sleep(10);
+        }
+        return peak;
+    }
+}
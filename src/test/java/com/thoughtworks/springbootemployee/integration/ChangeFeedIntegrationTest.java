@@ -0,0 +1,130 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ChangeFeedIntegrationTest {
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\w+-\\d+)\\nevent:created\\ndata:\\{[^\\n]*\"id\":(\\d+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_resume_after_last_event_id_when_subscribe_to_employee_changes() throws Exception {
+        // Given
+        MockHttpServletResponse liveStream = subscribe(MockMvcRequestBuilders.get("/employees/changes"));
+        String russId = addEmployee("russ");
+        String russEvent = awaitContent(liveStream, "\"id\":" + russId);
+        Matcher russEventId = EVENT_ID.matcher(russEvent);
+        assertTrue(russEventId.find());
+        String barbieId = addEmployee("barbie");
+
+        // When
+        MockHttpServletResponse resumedStream = subscribe(MockMvcRequestBuilders.get("/employees/changes")
+                .header("Last-Event-ID", russEventId.group(1)));
+
+        // Then
+        String resumedEvents = awaitContent(resumedStream, "\"id\":" + barbieId);
+        assertFalse(resumedEvents.contains("\"id\":" + russId + "}"));
+        assertTrue(awaitContent(liveStream, "\"id\":" + barbieId).contains("event:created"));
+    }
+
+    @Test
+    void should_send_reset_when_subscribe_to_employee_changes_given_last_event_id_no_longer_buffered() throws Exception {
+        // Given
+        addEmployee("russ");
+
+        // When
+        MockHttpServletResponse stream = subscribe(MockMvcRequestBuilders.get("/employees/changes").header("Last-Event-ID", "1"));
+
+        // Then
+        assertTrue(awaitContent(stream, "event:reset").contains("\"type\":\"reset\""));
+    }
+
+    @Test
+    void should_send_reset_when_subscribe_to_employee_changes_given_last_event_id_from_another_epoch() throws Exception {
+        // Given
+        MockHttpServletResponse liveStream = subscribe(MockMvcRequestBuilders.get("/employees/changes"));
+        String russId = addEmployee("russ");
+        Matcher russEventId = EVENT_ID.matcher(awaitContent(liveStream, "\"id\":" + russId));
+        assertTrue(russEventId.find());
+        String previousEpochEventId = "0" + russEventId.group(1);
+
+        // When
+        MockHttpServletResponse stream = subscribe(MockMvcRequestBuilders.get("/employees/changes").header("Last-Event-ID", previousEpochEventId));
+
+        // Then
+        assertTrue(awaitContent(stream, "event:reset").contains("\"type\":\"reset\""));
+    }
+
+    @Test
+    void should_stream_company_deletion_when_subscribe_to_company_changes() throws Exception {
+        // Given
+        MockHttpServletResponse stream = subscribe(MockMvcRequestBuilders.get("/companies/changes"));
+        String companyId = mockMvc.perform(MockMvcRequestBuilders.post("/companies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"companyName\": \"OOCL\" }"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString().replaceAll(".*\"id\":(\\d+).*", "$1");
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.delete("/companies/{companyId}", companyId));
+
+        // Then
+        assertTrue(awaitContent(stream, "event:deleted").contains("\"id\":" + companyId));
+    }
+
+    private MockHttpServletResponse subscribe(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private String addEmployee(String name) throws Exception {
+        String employee = mockMvc.perform(MockMvcRequestBuilders.post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\": \"" + name + "\", \"age\": 22, \"gender\": \"male\", \"salary\": 5000 }"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return employee.replaceAll(".*\"id\":(\\d+).*", "$1");
+    }
+
+    private static String awaitContent(MockHttpServletResponse stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = stream.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = stream.getContentAsString();
+        }
+        assertTrue(content.contains(expected), "expected " + expected + " in stream:\n" + content);
+        return content;
+    }
+}
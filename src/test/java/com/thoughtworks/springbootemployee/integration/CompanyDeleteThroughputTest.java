@@ -0,0 +1,118 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("throughput")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CompanyDeleteThroughputTest {
+    private static final int EMPLOYEES = 100_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        companyRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    void should_delete_company_with_fewer_statements_and_faster_when_set_based_than_cascading_entities() throws Exception {
+        // Given
+        Integer cascadedCompanyId = saveCompanyWithEmployees("cascaded", 0);
+        Integer setBasedCompanyId = saveCompanyWithEmployees("set-based", EMPLOYEES);
+
+        // When
+        statistics.clear();
+        long cascadeStart = System.nanoTime();
+        transactionTemplate.execute(status -> {
+            companyRepository.delete(companyRepository.findById(cascadedCompanyId).get());
+            return null;
+        });
+        double cascadeSeconds = (System.nanoTime() - cascadeStart) / 1e9;
+        long cascadeStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        long setBasedStart = System.nanoTime();
+        mockMvc.perform(MockMvcRequestBuilders.delete("/companies/" + setBasedCompanyId))
+                .andExpect(status().isOk());
+        double setBasedSeconds = (System.nanoTime() - setBasedStart) / 1e9;
+        long setBasedStatements = statistics.getPrepareStatementCount();
+
+        // Then
+        System.out.printf("delete %d employees: cascade %d statements in %.2fs, set-based %d statements in %.2fs (%.1fx)%n",
+                EMPLOYEES, cascadeStatements, cascadeSeconds, setBasedStatements, setBasedSeconds, cascadeSeconds / setBasedSeconds);
+        assertEquals(0, employeeRepository.count());
+        assertEquals(2, setBasedStatements);
+        assertTrue(cascadeStatements > setBasedStatements);
+        assertTrue(setBasedSeconds < cascadeSeconds);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    void should_move_all_employees_in_one_statement_when_delete_company_given_reassign() throws Exception {
+        // Given
+        Integer companyId = saveCompanyWithEmployees("closing", 0);
+        Integer targetCompanyId = companyRepository.save(new Company("acquiring")).getId();
+
+        // When
+        statistics.clear();
+        long start = System.nanoTime();
+        mockMvc.perform(MockMvcRequestBuilders.delete("/companies/" + companyId)
+                .param("employees", "reassign")
+                .param("targetCompanyId", targetCompanyId.toString()))
+                .andExpect(status().isOk());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Then
+        System.out.printf("reassign %d employees: %d statements in %.2fs%n", EMPLOYEES, statistics.getPrepareStatementCount(), seconds);
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(Long.valueOf(EMPLOYEES), jdbcTemplate.queryForObject("select count(*) from employee where company_id = ?", Long.class, targetCompanyId));
+    }
+
+    private Integer saveCompanyWithEmployees(String companyName, int idOffset) {
+        Integer companyId = companyRepository.save(new Company(companyName)).getId();
+        jdbcTemplate.update("insert into employee (id, name, age, gender, salary, company_id) " +
+                        "select 100000000 + ? + x, concat('employee-', x), 20 + mod(x, 40), case when mod(x, 2) = 0 then 'male' else 'female' end, " +
+                        "3000 + mod(x, 7000), ? from system_range(1, ?)",
+                idOffset, companyId, EMPLOYEES);
+        return companyId;
+    }
+}
@@ -1,6 +1,8 @@
 package com.thoughtworks.springbootemployee.integration;
 
+import com.jayway.jsonpath.JsonPath;
 import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +14,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -124,6 +129,179 @@ public class CompanyIntegrationTest {
         assertFalse(employeeRepository.findById(companyId).isPresent());
     }
 
+    @Test
+    public void should_move_employees_to_target_company_when_delete_given_reassign() throws Exception {
+        // Given
+        Integer companyId = companyRepository.save(new Company("OOCL")).getId();
+        Integer targetCompanyId = companyRepository.save(new Company("COSCO")).getId();
+        Integer employeeId = saveEmployee(companyId).getId();
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.delete("/companies/" + companyId)
+                .param("employees", "reassign")
+                .param("targetCompanyId", targetCompanyId.toString()))
+                .andExpect(status().isOk());
+
+        // Then
+        assertFalse(companyRepository.findById(companyId).isPresent());
+        assertEquals(targetCompanyId, employeeRepository.findById(employeeId).get().getCompanyId());
+    }
+
+    @Test
+    public void should_keep_employees_without_company_when_delete_given_detach() throws Exception {
+        // Given
+        Integer companyId = companyRepository.save(new Company("OOCL")).getId();
+        Integer employeeId = saveEmployee(companyId).getId();
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.delete("/companies/" + companyId)
+                .param("employees", "detach"))
+                .andExpect(status().isOk());
+
+        // Then
+        assertFalse(companyRepository.findById(companyId).isPresent());
+        assertNull(employeeRepository.findById(employeeId).get().getCompanyId());
+    }
+
+    @Test
+    public void should_keep_company_when_delete_given_reassign_without_target() throws Exception {
+        // Given
+        Integer companyId = companyRepository.save(new Company("OOCL")).getId();
+        Integer employeeId = saveEmployee(companyId).getId();
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.delete("/companies/" + companyId)
+                .param("employees", "reassign"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("targetCompanyId must name another company to reassign employees."));
+
+        // Then
+        assertTrue(companyRepository.findById(companyId).isPresent());
+        assertEquals(companyId, employeeRepository.findById(employeeId).get().getCompanyId());
+    }
+
+    @Test
+    public void should_return_filtered_employee_pages_when_get_company_employees_given_limit() throws Exception {
+        // Given
+        Integer companyId = companyRepository.save(new Company("OOCL")).getId();
+        Integer otherCompanyId = companyRepository.save(new Company("COSCO")).getId();
+        Integer firstEmployeeId = saveEmployee(companyId).getId();
+        saveEmployee(otherCompanyId);
+        Integer secondEmployeeId = saveEmployee(companyId).getId();
+        Employee femaleEmployee = new Employee("barbie", 20, "female", 9999);
+        femaleEmployee.setCompanyId(companyId);
+        employeeRepository.save(femaleEmployee);
+
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/companies/" + companyId + "/employees")
+                .param("gender", "male")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(firstEmployeeId))
+                .andExpect(jsonPath("$.items[0].name").value("russel"))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/" + companyId + "/employees")
+                .param("gender", "male")
+                .param("limit", "1")
+                .param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(secondEmployeeId))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void should_return_not_found_when_get_company_employees_given_non_existent_company() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/" + 99 + "/employees"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Company not found"));
+    }
+
+    @Test
+    public void should_add_employees_to_company_when_add_company_employees_in_batch_given_company_id() throws Exception {
+        // Given
+        Company company = companyRepository.save(new Company("OOCL"));
+        String employees = "[\n" +
+                "    { \"name\": \"russ\", \"age\": 22, \"gender\": \"male\", \"salary\": 5000 },\n" +
+                "    { \"name\": \"barbie\", \"age\": 20, \"gender\": \"female\", \"salary\": 9999 }\n" +
+                "]";
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.post("/companies/" + company.getId() + "/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employees))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.inserted").value(2));
+
+        // Then
+        assertEquals(2, employeeRepository.findAll().stream()
+                .filter(employee -> company.getId().equals(employee.getCompanyId()))
+                .count());
+    }
+
+    @Test
+    public void should_return_exception_message_when_add_company_employees_in_batch_given_non_existent_company() throws Exception {
+        // Given
+        String employees = "[ { \"name\": \"russ\", \"age\": 22, \"gender\": \"male\", \"salary\": 5000 } ]";
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/companies/99/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employees))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Company not found"))
+                .andExpect(jsonPath("$.status").value("404 NOT_FOUND"));
+    }
+
+    @Test
+    public void should_return_salary_stats_when_get_company_stats_given_company_id() throws Exception {
+        // Given
+        Company company = companyRepository.save(new Company("OOCL"));
+        Employee russ = new Employee("russ", 22, "male", 5000);
+        russ.setCompanyId(company.getId());
+        Employee linne = new Employee("linne", 28, "female", 6000);
+        linne.setCompanyId(company.getId());
+        employeeRepository.save(russ);
+        employeeRepository.save(linne);
+        employeeRepository.save(new Employee("jeff", 35, "male", 7000));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/{companyId}/stats", company.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groupKey").value(company.getId()))
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.totalSalary").value(11000))
+                .andExpect(jsonPath("$.averageSalary").value(5500.0))
+                .andExpect(jsonPath("$.minSalary").value(5000))
+                .andExpect(jsonPath("$.maxSalary").value(6000));
+    }
+
+    @Test
+    public void should_return_zero_count_when_get_company_stats_given_company_without_employees() throws Exception {
+        // Given
+        Company company = companyRepository.save(new Company("OOCL"));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/{companyId}/stats", company.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0));
+    }
+
+    @Test
+    public void should_return_exception_message_when_get_company_stats_given_non_existent_company() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/{companyId}/stats", 99))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Company not found"));
+    }
+
     @Test
     public void should_return_exception_message_when_find_company_by_id_given_non_existent_company() throws Exception {
         // Given
@@ -162,4 +340,10 @@ public class CompanyIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Company not found. Cannot delete non-existent company."))
                 .andExpect(jsonPath("$.status").value("404 NOT_FOUND"));
     }
+
+    private Employee saveEmployee(Integer companyId) {
+        Employee employee = new Employee("russel", 22, "male", 5000);
+        employee.setCompanyId(companyId);
+        return employeeRepository.save(employee);
+    }
 }
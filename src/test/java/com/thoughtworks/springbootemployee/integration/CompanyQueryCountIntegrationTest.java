@@ -0,0 +1,98 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CompanyQueryCountIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void should_run_same_number_of_statements_when_find_companies_given_more_companies() throws Exception {
+        // Given
+        saveCompanyWithEmployees("OOCL", 2);
+        long statementsForOneCompany = countStatements("/companies");
+        for (int company = 0; company < 59; company++) {
+            saveCompanyWithEmployees("OOCL" + company, 3);
+        }
+
+        // When
+        long statementsForSixtyCompanies = countStatements("/companies");
+
+        // Then
+        assertEquals(statementsForOneCompany, statementsForSixtyCompanies);
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(60))
+                .andExpect(jsonPath("$[1].employees.length()").value(3))
+                .andExpect(jsonPath("$[59].employees.length()").value(3));
+    }
+
+    @Test
+    public void should_run_same_number_of_statements_when_find_company_by_id_given_more_employees() throws Exception {
+        // Given
+        Integer smallCompanyId = saveCompanyWithEmployees("OOCL", 1);
+        Integer largeCompanyId = saveCompanyWithEmployees("COSCO", 20);
+
+        // When
+        long statementsForSmallCompany = countStatements("/companies/" + smallCompanyId);
+        long statementsForLargeCompany = countStatements("/companies/" + largeCompanyId);
+
+        // Then
+        assertEquals(statementsForSmallCompany, statementsForLargeCompany);
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/" + largeCompanyId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.length()").value(20));
+    }
+
+    private Integer saveCompanyWithEmployees(String companyName, int numberOfEmployees) {
+        Integer companyId = companyRepository.save(new Company(companyName)).getId();
+        for (int index = 0; index < numberOfEmployees; index++) {
+            Employee employee = new Employee("employee" + index, 20 + index, "male", 1000);
+            employee.setCompanyId(companyId);
+            employeeRepository.save(employee);
+        }
+        return companyId;
+    }
+
+    private long countStatements(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,57 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.limiter.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "employee.concurrency-limit.bulk.initial-limit=1",
+        "employee.concurrency-limit.bulk.max-limit=1",
+        "employee.concurrency-limit.retry-after=2"})
+@AutoConfigureMockMvc
+public class ConcurrencyLimitIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    @Qualifier("bulkConcurrencyLimit")
+    private AdaptiveConcurrencyLimit bulkConcurrencyLimit;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void should_shed_bulk_request_with_retry_after_when_bulk_limit_is_in_use() throws Exception {
+        // Given
+        bulkConcurrencyLimit.tryAcquire();
+        double rejectedBefore = meterRegistry.get("http.concurrency.rejected").tag("class", "bulk").functionCounter().count();
+
+        // When & Then
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.get("/employees/export.csv"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                    .andExpect(jsonPath("$.message").value("Too many concurrent bulk requests. Please retry later."))
+                    .andExpect(jsonPath("$.status").value("503 SERVICE_UNAVAILABLE"));
+            mockMvc.perform(MockMvcRequestBuilders.get("/employees").accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        } finally {
+            bulkConcurrencyLimit.release(0);
+        }
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/export.csv"))
+                .andExpect(status().isOk());
+        assertEquals(rejectedBefore + 1, meterRegistry.get("http.concurrency.rejected").tag("class", "bulk").functionCounter().count());
+        assertEquals(1, meterRegistry.get("http.concurrency.limit").tag("class", "bulk").gauge().value());
+    }
+}
@@ -0,0 +1,144 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConditionalRequestIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @BeforeEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_return_not_modified_when_get_employee_given_current_etag() throws Exception {
+        // Given
+        Employee employee = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/{employeeId}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v0\""));
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/{employeeId}", employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void should_reject_update_when_put_employee_given_stale_if_match() throws Exception {
+        // Given
+        Employee employee = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/{employeeId}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"v0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"salary\": 6000 }"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/{employeeId}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"v0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"salary\": 7000 }"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value("412 PRECONDITION_FAILED"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/{employeeId}", employee.getId()))
+                .andExpect(jsonPath("$.salary").value(6000));
+    }
+
+    @Test
+    void should_return_not_modified_until_a_write_when_get_employees_given_collection_etag() throws Exception {
+        // Given
+        employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\": \"linne\", \"age\": 22, \"gender\": \"female\", \"salary\": 6000 }"))
+                .andExpect(status().isCreated());
+        String newETag = mockMvc.perform(MockMvcRequestBuilders.get("/employees").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    void should_change_company_etag_when_one_of_its_employees_is_updated() throws Exception {
+        // Given
+        Company company = companyRepository.save(new Company("OOCL"));
+        Employee employee = new Employee("russ", 22, "male", 5000);
+        employee.setCompanyId(company.getId());
+        employeeRepository.save(employee);
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/companies/{companyId}", company.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/{companyId}", company.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/{employeeId}", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"salary\": 6000 }"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/{companyId}", company.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].salary").value(6000));
+    }
+
+    @Test
+    void should_reject_update_when_put_company_given_stale_if_match() throws Exception {
+        // Given
+        Company company = companyRepository.save(new Company("OOCL"));
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/companies/{companyId}", company.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.put("/companies/{companyId}", company.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"companyName\": \"OOCL-1\" }"))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.put("/companies/{companyId}", company.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"companyName\": \"OOCL-2\" }"))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
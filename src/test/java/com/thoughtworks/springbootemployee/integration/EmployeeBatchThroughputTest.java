@@ -0,0 +1,80 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("throughput")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeBatchThroughputTest {
+    private static final int WARM_UP_ROWS = 100;
+    private static final int ROWS = 2000;
+    private static final String EMPLOYEE = "{ \"name\": \"russ\", \"age\": 22, \"gender\": \"male\", \"salary\": 5000 }";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_insert_more_rows_per_second_when_add_employees_in_batch_than_one_by_one() throws Exception {
+        // Given
+        insertOneByOne(WARM_UP_ROWS);
+        insertInBatch(WARM_UP_ROWS);
+        employeeRepository.deleteAll();
+
+        // When
+        double singleRowRowsPerSecond = rowsPerSecond(ROWS, insertOneByOne(ROWS));
+        double batchRowsPerSecond = rowsPerSecond(ROWS, insertInBatch(ROWS));
+
+        // Then
+        System.out.printf("single-row: %.0f rows/s, batch: %.0f rows/s (%.1fx)%n",
+                singleRowRowsPerSecond, batchRowsPerSecond, batchRowsPerSecond / singleRowRowsPerSecond);
+        assertEquals(2L * ROWS, employeeRepository.count());
+        assertTrue(batchRowsPerSecond > singleRowRowsPerSecond);
+    }
+
+    private long insertOneByOne(int rows) throws Exception {
+        long start = System.nanoTime();
+        for (int row = 0; row < rows; row++) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/employees")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(EMPLOYEE))
+                    .andExpect(status().isCreated());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long insertInBatch(int rows) throws Exception {
+        String employees = "[" + String.join(",", Collections.nCopies(rows, EMPLOYEE)) + "]";
+        long start = System.nanoTime();
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employees))
+                .andExpect(status().isCreated());
+        return System.nanoTime() - start;
+    }
+
+    private double rowsPerSecond(int rows, long elapsedNanos) {
+        return rows * 1_000_000_000d / elapsedNanos;
+    }
+}
@@ -0,0 +1,90 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("throughput")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeCsvThroughputTest {
+    private static final int ROWS = 1_000_000;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @Timeout(value = 15, unit = TimeUnit.MINUTES)
+    void should_import_and_export_one_million_rows_when_streaming_csv() throws Exception {
+        // When
+        long importStart = System.nanoTime();
+        JsonNode importResult = importRows(ROWS);
+        double importSeconds = (System.nanoTime() - importStart) / 1e9;
+
+        long exportStart = System.nanoTime();
+        long exportedRows = exportRows();
+        double exportSeconds = (System.nanoTime() - exportStart) / 1e9;
+
+        // Then
+        System.out.printf("import: %d rows in %.1fs (%.0f rows/s), export: %d rows in %.1fs (%.0f rows/s)%n",
+                ROWS, importSeconds, ROWS / importSeconds, exportedRows, exportSeconds, exportedRows / exportSeconds);
+        assertEquals(ROWS, importResult.get("imported").asInt());
+        assertEquals(0, importResult.get("failed").asInt());
+        assertEquals(ROWS, employeeRepository.count());
+        assertEquals(ROWS, exportedRows);
+    }
+
+    private JsonNode importRows(int rows) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/employees/import").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(64 * 1024);
+        connection.setRequestProperty("Content-Type", "text/csv");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+            writer.write("name,age,gender,salary\n");
+            for (int row = 0; row < rows; row++) {
+                writer.write("employee-" + row + "," + (20 + row % 40) + "," + (row % 2 == 0 ? "male" : "female") + "," + (3000 + row % 7000) + "\n");
+            }
+        }
+        assertEquals(201, connection.getResponseCode());
+        try (InputStream body = connection.getInputStream()) {
+            return objectMapper.readTree(body);
+        }
+    }
+
+    private long exportRows() throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/employees/export.csv").openConnection();
+        assertEquals(200, connection.getResponseCode());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines().skip(1).count();
+        }
+    }
+}
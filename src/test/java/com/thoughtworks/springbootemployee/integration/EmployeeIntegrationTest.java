@@ -2,6 +2,7 @@ package com.thoughtworks.springbootemployee.integration;
 
 import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +12,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -44,6 +48,28 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$[0].salary").value(5000));
     }
 
+    @Test
+    void should_stream_employees_as_ndjson_when_find_employees_given_ndjson_accept_header() throws Exception {
+        // Given
+        employeeRepository.save(new Employee("russel", 22, "male", 5000));
+        employeeRepository.save(new Employee("janley", 18, "male", 80000));
+
+        // When
+        String body = mockMvc.perform(MockMvcRequestBuilders.get("/employees")
+                .accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Then
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"russel\""));
+        assertTrue(lines[1].contains("\"name\":\"janley\""));
+    }
+
     @Test
     void should_add_employee_when_call_add_employee() throws Exception {
         // Given
@@ -64,6 +90,143 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$.salary").value("1000"));
     }
 
+    @Test
+    void should_add_all_employees_when_call_add_employees_in_batch() throws Exception {
+        // Given
+        String employees = "[\n" +
+                "    { \"name\": \"russ\", \"age\": 22, \"gender\": \"male\", \"salary\": 5000 },\n" +
+                "    { \"name\": \"janley\", \"age\": 18, \"gender\": \"male\", \"salary\": 80000 },\n" +
+                "    { \"name\": \"barbie\", \"age\": 20, \"gender\": \"female\", \"salary\": 9999 }\n" +
+                "]";
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employees))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.submitted").value(3))
+                .andExpect(jsonPath("$.inserted").value(3))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.chunks[0].status").value("INSERTED"))
+                .andExpect(jsonPath("$.chunks[0].employeeIds.length()").value(3));
+        assertEquals(3, employeeRepository.count());
+    }
+
+    @Test
+    void should_report_failed_chunk_when_call_add_employees_in_batch_given_employee_without_name() throws Exception {
+        // Given
+        String employees = "[\n" +
+                "    { \"name\": \"russ\", \"age\": 22, \"gender\": \"male\", \"salary\": 5000 },\n" +
+                "    { \"age\": 18, \"gender\": \"male\", \"salary\": 80000 }\n" +
+                "]";
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employees))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.inserted").value(0))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.chunks[0].status").value("FAILED"));
+        assertEquals(0, employeeRepository.count());
+    }
+
+    @Test
+    void should_export_all_employees_as_csv_when_call_export() throws Exception {
+        // Given
+        Employee russ = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        Employee barbie = employeeRepository.save(new Employee("barbie, jr", 20, "female", 9999));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/export.csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,name,age,gender,salary,companyId\n" +
+                        russ.getId() + ",russ,22,male,5000,\n" +
+                        barbie.getId() + ",\"barbie, jr\",20,female,9999,\n"));
+    }
+
+    @Test
+    void should_import_valid_lines_and_report_invalid_ones_when_call_import() throws Exception {
+        // Given
+        String csv = "name,age,gender,salary\n" +
+                "russ,22,male,5000\n" +
+                "barbie,twenty,female,9999\n" +
+                "\"linne, sr\",28,female,6000\n" +
+                ",30,male,7000\n";
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.rows").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Field \"age\" must be a whole number but was \"twenty\"."))
+                .andExpect(jsonPath("$.errors[1].line").value(5));
+
+        // Then
+        assertEquals(2, employeeRepository.count());
+        assertTrue(employeeRepository.findAll().stream().anyMatch(employee -> "linne, sr".equals(employee.getName())));
+    }
+
+    @Test
+    void should_import_other_rows_of_chunk_and_report_only_failing_line_when_call_import_given_unknown_company() throws Exception {
+        // Given
+        String csv = "name,age,gender,salary,companyId\n" +
+                "russ,22,male,5000,\n" +
+                "barbie,20,female,9999,-1\n" +
+                "linne,28,female,6000,\n";
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        // Then
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void should_import_exported_csv_when_names_contain_line_breaks() throws Exception {
+        // Given
+        employeeRepository.save(new Employee("russ\nsr", 22, "male", 5000));
+        employeeRepository.save(new Employee("barbie\r\n\"jr\"", 20, "female", 9999));
+        String exported = mockMvc.perform(MockMvcRequestBuilders.get("/employees/export.csv"))
+                .andReturn().getResponse().getContentAsString();
+        employeeRepository.deleteAll();
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees/import")
+                .contentType("text/csv")
+                .content(exported + ",linne,twenty,female,6000,\n"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.rows").value(3))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(6));
+
+        // Then
+        assertTrue(employeeRepository.findAll().stream().anyMatch(employee -> "russ\nsr".equals(employee.getName())));
+        assertTrue(employeeRepository.findAll().stream().anyMatch(employee -> "barbie\r\n\"jr\"".equals(employee.getName())));
+    }
+
+    @Test
+    void should_return_bad_request_when_call_import_given_unknown_column() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees/import")
+                .contentType("text/csv")
+                .content("name,title\nruss,engineer\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid CSV header. Unknown column \"title\". Expected columns are id,name,age,gender,salary,companyId."));
+    }
+
     @Test
     public void should_return_specific_employee_when_get_by_id_given_employee_id() throws Exception {
         // Given
@@ -183,6 +346,142 @@ public class EmployeeIntegrationTest {
 
     }
 
+    @Test
+    public void should_return_next_page_after_cursor_when_keyset_query_given_limit_2() throws Exception {
+        // Given
+        Integer employeeId1 = employeeRepository.save(new Employee("russ", 22, "male", 5000)).getId();
+        Integer employeeId2 = employeeRepository.save(new Employee("janley", 18, "male", 80000)).getId();
+        Integer employeeId3 = employeeRepository.save(new Employee("barbie", 20, "female", 9999)).getId();
+
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/employees?limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(employeeId1))
+                .andExpect(jsonPath("$.items[1].id").value(employeeId2))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees")
+                .param("after", nextCursor)
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(employeeId3))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void should_return_bad_request_when_keyset_query_given_invalid_cursor() throws Exception {
+        // Given
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees?after=not-a-cursor&limit=2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor."))
+                .andExpect(jsonPath("$.status").value("400 BAD_REQUEST"));
+    }
+
+    @Test
+    public void should_page_filtered_employees_by_salary_desc_with_nulls_last_when_query_employees() throws Exception {
+        // Given
+        employeeRepository.save(new Employee("russ", 22, "male", 99999));
+        Integer employeeId1 = employeeRepository.save(new Employee("barbie", 20, "female", 6000)).getId();
+        Integer employeeId2 = employeeRepository.save(new Employee("janley", 24, "female", 9000)).getId();
+        Integer employeeId3 = employeeRepository.save(new Employee("lily", 26, "female", null)).getId();
+        Integer employeeId4 = employeeRepository.save(new Employee("linne", 28, "female", null)).getId();
+        employeeRepository.save(new Employee("nina", 40, "female", 7000));
+
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/employees/query")
+                .param("gender", "female")
+                .param("maxAge", "30")
+                .param("sort", "salary")
+                .param("direction", "desc")
+                .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].id").value(employeeId2))
+                .andExpect(jsonPath("$.items[1].id").value(employeeId1))
+                .andExpect(jsonPath("$.items[2].id").value(employeeId3))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/query")
+                .param("gender", "female")
+                .param("maxAge", "30")
+                .param("sort", "salary")
+                .param("direction", "desc")
+                .param("limit", "3")
+                .param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(employeeId4))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void should_return_bad_request_when_query_employees_given_unknown_sort() throws Exception {
+        // Given
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/query?sort=password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("sort must be one of id, name, age, salary."))
+                .andExpect(jsonPath("$.status").value("400 BAD_REQUEST"));
+    }
+
+    @Test
+    public void should_return_salary_stats_per_gender_when_get_stats_given_group_by_gender() throws Exception {
+        // Given
+        employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        employeeRepository.save(new Employee("jeff", 35, "male", 7000));
+        employeeRepository.save(new Employee("linne", 28, "female", 6000));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/stats").param("groupBy", "gender"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].groupKey").value("female"))
+                .andExpect(jsonPath("$[0].count").value(1))
+                .andExpect(jsonPath("$[1].groupKey").value("male"))
+                .andExpect(jsonPath("$[1].count").value(2))
+                .andExpect(jsonPath("$[1].totalSalary").value(12000))
+                .andExpect(jsonPath("$[1].averageSalary").value(6000.0))
+                .andExpect(jsonPath("$[1].minSalary").value(5000))
+                .andExpect(jsonPath("$[1].maxSalary").value(7000));
+    }
+
+    @Test
+    public void should_return_salary_stats_per_decade_when_get_stats_given_group_by_age_bucket() throws Exception {
+        // Given
+        employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        employeeRepository.save(new Employee("linne", 28, "female", 6000));
+        employeeRepository.save(new Employee("jeff", 35, "male", 7000));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/stats").param("groupBy", "ageBucket"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].groupKey").value(20))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[1].groupKey").value(30))
+                .andExpect(jsonPath("$[1].count").value(1));
+    }
+
+    @Test
+    public void should_return_bad_request_when_get_stats_given_unknown_group_by() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/stats").param("groupBy", "salary"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("groupBy must be one of gender, companyId, ageBucket."));
+    }
+
     @Test
     public void should_return_exception_message_when_find_employee_by_id_given_non_existent_employee() throws Exception {
         // Given
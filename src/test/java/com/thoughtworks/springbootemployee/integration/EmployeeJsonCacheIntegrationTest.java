@@ -0,0 +1,91 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeJsonCacheIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_reuse_encoded_employees_when_get_employees_twice() throws Exception {
+        // Given
+        Employee russ = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        Employee linne = employeeRepository.save(new Employee("linne", 22, "female", 6000));
+        String expectedJson = "[" +
+                "{\"id\":" + russ.getId() + ",\"name\":\"russ\",\"age\":22,\"gender\":\"male\",\"salary\":5000}," +
+                "{\"id\":" + linne.getId() + ",\"name\":\"linne\",\"age\":22,\"gender\":\"female\",\"salary\":6000}" +
+                "]";
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(expectedJson, true));
+        double hitsBefore = cacheGets("hit");
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(expectedJson, true));
+
+        // Then
+        assertEquals(2, cacheGets("hit") - hitsBefore);
+    }
+
+    @Test
+    void should_return_updated_employee_when_get_employees_after_update() throws Exception {
+        // Given
+        Employee employee = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees")).andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/{employeeId}", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"salary\": 6000 }"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].salary").value(6000));
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees").param("gender", "male"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].salary").value(6000));
+    }
+
+    @Test
+    void should_return_empty_array_when_get_employees_given_no_employee() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "employeeJson").tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,129 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeSearchIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_match_name_tokens_by_prefix_when_search_employees() throws Exception {
+        // Given
+        addEmployee("Russel Crowe");
+        addEmployee("Barbie Roberts");
+        addEmployee("Rusty Roberts");
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/search").param("q", "rus"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].name").value("Russel Crowe"))
+                .andExpect(jsonPath("$.items[1].name").value("Rusty Roberts"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/search").param("q", "ROB rus"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Rusty Roberts"));
+    }
+
+    @Test
+    void should_page_through_matches_when_search_employees_given_limit() throws Exception {
+        // Given
+        addEmployee("russ one");
+        addEmployee("russ two");
+        addEmployee("russ three");
+
+        // When
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/employees/search").param("q", "russ").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/search").param("q", "russ").param("limit", "2").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("russ three"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_follow_renames_and_deletes_when_search_employees() throws Exception {
+        // Given
+        Integer renamedId = addEmployee("russ");
+        Integer deletedId = addEmployee("russell");
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/{employeeId}", renamedId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\": \"barbie\" }"))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/employees/{employeeId}", deletedId))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/search").param("q", "russ"))
+                .andExpect(jsonPath("$.items.length()").value(0));
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/search").param("q", "barb"))
+                .andExpect(jsonPath("$.items[0].id").value(renamedId));
+    }
+
+    @Test
+    void should_match_short_prefixes_and_follow_renames_when_search_employees() throws Exception {
+        // Given
+        Integer renamedId = addEmployee("Russel Crowe");
+        Integer keptId = addEmployee("Rusty Roberts");
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/{employeeId}", renamedId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\": \"Barbie Crowe\" }"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/search").param("q", "r"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(keptId));
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/search").param("q", "c b"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(renamedId));
+    }
+
+    @Test
+    void should_return_bad_request_when_search_employees_given_blank_query() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/search").param("q", " - "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Search query must contain at least one letter or digit."));
+    }
+
+    private Integer addEmployee(String name) throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\": \"" + name + "\", \"age\": 22, \"gender\": \"male\", \"salary\": 5000 }"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.id");
+    }
+}
@@ -0,0 +1,168 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import com.thoughtworks.springbootemployee.writebehind.EmployeeUpdateJournal;
+import com.thoughtworks.springbootemployee.writebehind.EmployeeWriteBehind;
+import com.thoughtworks.springbootemployee.writebehind.PendingEmployeeUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "employee.write-behind.enabled=true",
+        "employee.write-behind.journal-dir=build/write-behind",
+        "employee.write-behind.flush-interval=3600000",
+        "spring.cache.type=caffeine",
+        "spring.cache.cache-names=employees,companies"})
+@AutoConfigureMockMvc
+public class EmployeeWriteBehindIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeWriteBehind employeeWriteBehind;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void tearDown() {
+        employeeWriteBehind.flush();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_merge_queued_updates_into_one_write_when_put_employee_twice_before_flush() throws Exception {
+        // Given
+        Employee employee = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+
+        // When
+        putEmployee(employee.getId(), "{ \"salary\": 6000 }")
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.salary").value(6000));
+        putEmployee(employee.getId(), "{ \"name\": \"russel\" }")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("russel"))
+                .andExpect(jsonPath("$.salary").value(6000));
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/{employeeId}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.name").value("russel"))
+                .andExpect(jsonPath("$.salary").value(6000));
+        assertEquals(5000, employeeRepository.findById(employee.getId()).get().getSalary());
+        employeeWriteBehind.flush();
+        Employee flushedEmployee = employeeRepository.findById(employee.getId()).get();
+        assertEquals("russel", flushedEmployee.getName());
+        assertEquals(6000, flushedEmployee.getSalary());
+        assertEquals(1L, flushedEmployee.getVersion());
+    }
+
+    @Test
+    void should_not_cache_queued_update_when_find_employee_by_id_before_flush() throws Exception {
+        // Given
+        Employee employee = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        putEmployee(employee.getId(), "{ \"salary\": 6000 }").andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/{employeeId}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.salary").value(6000));
+
+        // Then
+        assertNull(cacheManager.getCache("employees").get(employee.getId()));
+        employeeWriteBehind.flush();
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/{employeeId}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(jsonPath("$.salary").value(6000));
+    }
+
+    @Test
+    void should_flush_queued_updates_first_when_find_employees_by_gender() throws Exception {
+        // Given
+        Employee employee = employeeRepository.save(new Employee("barbie", 20, "male", 5000));
+        putEmployee(employee.getId(), "{ \"gender\": \"female\" }").andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees?gender=female"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("barbie"));
+    }
+
+    @Test
+    void should_apply_queued_updates_before_checking_if_match_when_put_employee_given_if_match() throws Exception {
+        // Given
+        Employee employee = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        putEmployee(employee.getId(), "{ \"salary\": 6000 }").andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/{employeeId}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"v0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"salary\": 7000 }"))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals(6000, employeeRepository.findById(employee.getId()).get().getSalary());
+    }
+
+    @Test
+    void should_replay_journaled_updates_when_starting_up_after_a_crash(@TempDir Path journalDirectory) throws Exception {
+        // Given
+        Employee employee = employeeRepository.save(new Employee("russ", 22, "male", 5000));
+        EmployeeUpdateJournal journal = new EmployeeUpdateJournal(journalDirectory, objectMapper);
+        journal.append(PendingEmployeeUpdate.of(employee.getId(), new Employee(null, 23, null, null)));
+        journal.append(PendingEmployeeUpdate.of(employee.getId(), new Employee(null, null, null, 8000)));
+        journal.close();
+        Files.write(journalDirectory.resolve("employee-updates-1.jsonl"), "{\"employeeId\":".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        // When
+        EmployeeWriteBehind restarted = new EmployeeWriteBehind(employeeService, new EmployeeUpdateJournal(journalDirectory, objectMapper), 100);
+        restarted.afterSingletonsInstantiated();
+        restarted.close();
+
+        // Then
+        Employee replayedEmployee = employeeRepository.findById(employee.getId()).get();
+        assertEquals(23, replayedEmployee.getAge());
+        assertEquals(8000, replayedEmployee.getSalary());
+        try (Stream<Path> segments = Files.list(journalDirectory)) {
+            assertEquals(0, segments.count());
+        }
+    }
+
+    private ResultActions putEmployee(Integer employeeId, String content) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.put("/employees/{employeeId}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content));
+    }
+}
@@ -0,0 +1,122 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.cache.type=caffeine",
+        "spring.cache.cache-names=employees,companies",
+        "spring.cache.caffeine.spec=maximumSize=100,recordStats"
+})
+@AutoConfigureMockMvc
+public class EntityCacheIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EmployeeService employeeService;
+
+    @BeforeEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    @Test
+    public void should_serve_second_read_from_cache_when_find_employee_by_id_twice() throws Exception {
+        // Given
+        Integer employeeId = employeeRepository.save(new Employee("russel", 22, "male", 5000)).getId();
+        CacheStats statsBefore = stats("employees");
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/" + employeeId)).andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/" + employeeId)).andExpect(status().isOk());
+
+        // Then
+        CacheStats stats = stats("employees").minus(statsBefore);
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.hitCount());
+    }
+
+    @Test
+    public void should_return_updated_employee_when_find_employee_by_id_after_update() throws Exception {
+        // Given
+        Integer employeeId = employeeRepository.save(new Employee("russel", 22, "male", 5000)).getId();
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/" + employeeId)).andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\" : \"russUpdated\" }"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/" + employeeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("russUpdated"));
+    }
+
+    @Test
+    public void should_return_new_employee_when_find_company_by_id_after_add_employee_to_company() throws Exception {
+        // Given
+        Integer companyId = companyRepository.save(new Company("OOCL")).getId();
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/" + companyId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.length()").value(0));
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\" : \"russ\", \"age\" : 22, \"gender\" : \"male\", \"salary\" : 1000, \"companyId\" : " + companyId + " }"))
+                .andExpect(status().isCreated());
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/" + companyId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.length()").value(1))
+                .andExpect(jsonPath("$.employees[0].name").value("russ"));
+    }
+
+    @Test
+    public void should_keep_cached_employee_unchanged_when_returned_employee_is_modified() throws Exception {
+        // Given
+        Integer employeeId = employeeRepository.save(new Employee("russel", 22, "male", 5000)).getId();
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/" + employeeId)).andExpect(status().isOk());
+
+        // When
+        employeeService.findEmployeeById(employeeId).setName("changed");
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/" + employeeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("russel"));
+    }
+
+    private CacheStats stats(String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().stats();
+    }
+}
@@ -0,0 +1,101 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.datasource.ReadYourWritesFilter;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.servlet.http.Cookie;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "employee.async.enabled=true",
+        "spring.datasource.url=" + ReadReplicaRoutingAsyncIntegrationTest.PRIMARY_URL,
+        "employee.datasource.replicas.urls=" + ReadReplicaRoutingAsyncIntegrationTest.REPLICA_URL,
+        "employee.datasource.read-your-writes-window=60000"})
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingAsyncIntegrationTest {
+    static final String PRIMARY_URL = "jdbc:h2:file:./build/h2/routing-async/primary";
+    static final String REPLICA_URL = "jdbc:h2:file:./build/h2/routing-async/replica";
+
+    private static final String INSERT_EMPLOYEE = "insert into employee (id, name, age, gender, salary, version) values (?, ?, 22, 'male', 5000, 0)";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @BeforeEach
+    void tearDown() {
+        primary.update("delete from employee");
+        replica.update("delete from employee");
+    }
+
+    @Test
+    void should_read_from_primary_on_database_executor_when_query_employees_given_cookie_from_recent_write() throws Exception {
+        // Given
+        MvcResult addEmployee = mockMvc.perform(MockMvcRequestBuilders.post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\": \"russ\", \"age\": 22, \"gender\": \"male\", \"salary\": 5000 }"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(addEmployee))
+                .andExpect(status().isCreated());
+        Cookie primaryReadsCookie = addEmployee.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        // When
+        MvcResult pinnedQuery = mockMvc.perform(MockMvcRequestBuilders.get("/employees/query").cookie(primaryReadsCookie))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult unpinnedQuery = mockMvc.perform(MockMvcRequestBuilders.get("/employees/query"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(pinnedQuery))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("russ"));
+        mockMvc.perform(asyncDispatch(unpinnedQuery))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void should_read_from_replica_on_database_executor_when_get_employees_given_no_recent_write() throws Exception {
+        // Given
+        primary.update(INSERT_EMPLOYEE, 900001, "on-primary");
+        replica.update(INSERT_EMPLOYEE, 900002, "on-replica");
+
+        // When
+        MvcResult findEmployees = mockMvc.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(findEmployees))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("on-replica"));
+    }
+}
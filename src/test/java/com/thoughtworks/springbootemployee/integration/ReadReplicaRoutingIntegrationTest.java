@@ -0,0 +1,142 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.datasource.ReadYourWritesFilter;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.servlet.http.Cookie;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "employee.datasource.replicas.urls=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+        "employee.datasource.read-your-writes-window=60000"})
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingIntegrationTest {
+    static final String PRIMARY_URL = "jdbc:h2:file:./build/h2/routing/primary";
+    static final String REPLICA_URL = "jdbc:h2:file:./build/h2/routing/replica";
+
+    private static final String INSERT_EMPLOYEE = "insert into employee (id, name, age, gender, salary, version) values (?, ?, 22, 'male', 5000, 0)";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    // There is no replication between the two files, which is what lets the tests tell them apart.
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @BeforeEach
+    void tearDown() {
+        primary.update("delete from employee");
+        replica.update("delete from employee");
+    }
+
+    @Test
+    void should_read_from_replica_when_query_employees_given_no_recent_write() throws Exception {
+        // Given
+        primary.update(INSERT_EMPLOYEE, 900001, "on-primary");
+        replica.update(INSERT_EMPLOYEE, 900002, "on-replica");
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/query"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("on-replica"));
+    }
+
+    @Test
+    void should_read_from_primary_when_query_employees_given_cookie_from_recent_write() throws Exception {
+        // Given
+        Cookie primaryReadsCookie = mockMvc.perform(MockMvcRequestBuilders.post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\": \"russ\", \"age\": 22, \"gender\": \"male\", \"salary\": 5000 }"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andExpect(cookie().httpOnly(ReadYourWritesFilter.COOKIE_NAME, true))
+                .andReturn()
+                .getResponse()
+                .getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/query").cookie(primaryReadsCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("russ"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/query"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void should_read_from_replica_when_query_employees_given_expired_cookie() throws Exception {
+        // Given
+        replica.update(INSERT_EMPLOYEE, 900003, "on-replica");
+        Cookie expiredCookie = new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(System.currentTimeMillis() - 1));
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/query").cookie(expiredCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("on-replica"));
+    }
+
+    @Test
+    void should_tag_employee_with_replica_version_when_get_employee_given_lagging_replica() throws Exception {
+        // Given
+        primary.update(INSERT_EMPLOYEE, 900004, "renamed");
+        primary.update("update employee set version = 1 where id = ?", 900004);
+        replica.update(INSERT_EMPLOYEE, 900004, "russ");
+
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/{employeeId}", 900004))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v0\""))
+                .andExpect(jsonPath("$.name").value("russ"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees/{employeeId}", 900004).header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void should_tag_employees_from_replica_rows_when_get_employees_given_lagging_replica() throws Exception {
+        // Given
+        primary.update(INSERT_EMPLOYEE, 900005, "on-primary");
+        replica.update(INSERT_EMPLOYEE, 900006, "on-replica");
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("on-replica"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        // When
+        replica.update(INSERT_EMPLOYEE, 900005, "on-primary");
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/employees").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+}
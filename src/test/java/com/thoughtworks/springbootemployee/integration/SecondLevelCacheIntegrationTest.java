@@ -0,0 +1,151 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.model.CacheRegions;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"
+})
+@AutoConfigureMockMvc
+public class SecondLevelCacheIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void should_not_query_database_when_find_company_by_id_given_company_already_read() throws Exception {
+        // Given
+        Integer companyId = saveCompanyWithEmployees("OOCL", 3);
+        countStatements("/companies/" + companyId);
+
+        // When
+        long statements = countStatements("/companies/" + companyId);
+
+        // Then
+        assertEquals(0, statements);
+        assertTrue(meterRegistry.get("hibernate.cache.region.hit.ratio").tag("region", CacheRegions.COMPANY_EMPLOYEES).gauge().value() > 0);
+    }
+
+    @Test
+    public void should_return_new_employee_when_find_company_by_id_given_employee_added_after_company_read() throws Exception {
+        // Given
+        Integer companyId = saveCompanyWithEmployees("OOCL", 1);
+        countStatements("/companies/" + companyId);
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\": \"barbie\", \"age\": 20, \"gender\": \"female\", \"salary\": 9999, \"companyId\": " + companyId + " }"))
+                .andExpect(status().isCreated());
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/" + companyId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.length()").value(2));
+    }
+
+    @Test
+    public void should_keep_other_companies_cached_when_update_employee() throws Exception {
+        // Given
+        Integer companyId = saveCompanyWithEmployees("OOCL", 1);
+        Integer otherCompanyId = saveCompanyWithEmployees("COSCO", 2);
+        Employee employee = new Employee("russel", 22, "male", 5000);
+        employee.setCompanyId(companyId);
+        Integer employeeId = employeeRepository.save(employee).getId();
+        countStatements("/companies/" + companyId);
+        countStatements("/companies/" + otherCompanyId);
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"salary\": 7000 }"))
+                .andExpect(status().isOk());
+        long otherCompanyStatements = countStatements("/companies/" + otherCompanyId);
+
+        // Then
+        assertEquals(0, otherCompanyStatements);
+        mockMvc.perform(MockMvcRequestBuilders.get("/companies/" + companyId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[?(@.id == " + employeeId + ")].salary").value(7000));
+    }
+
+    @Test
+    public void should_serve_repeated_gender_query_from_query_cache_until_employees_change() {
+        // Given
+        saveCompanyWithEmployees("OOCL", 2);
+        employeeService.findEmployeeByGender("male");
+
+        // When
+        statistics.clear();
+        int cachedMaleEmployees = employeeService.findEmployeeByGender("male").size();
+        long cachedStatements = statistics.getPrepareStatementCount();
+        employeeRepository.save(new Employee("russel", 22, "male", 5000));
+        int refreshedMaleEmployees = employeeService.findEmployeeByGender("male").size();
+
+        // Then
+        assertEquals(0, cachedStatements);
+        assertEquals(2, cachedMaleEmployees);
+        assertEquals(3, refreshedMaleEmployees);
+    }
+
+    private Integer saveCompanyWithEmployees(String companyName, int numberOfEmployees) {
+        Integer companyId = companyRepository.save(new Company(companyName)).getId();
+        for (int index = 0; index < numberOfEmployees; index++) {
+            Employee employee = new Employee("employee" + index, 20 + index, "male", 1000);
+            employee.setCompanyId(companyId);
+            employeeRepository.save(employee);
+        }
+        return companyId;
+    }
+
+    private long countStatements(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,99 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class WriteStatementCountIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void should_issue_update_and_read_back_when_update_employee_given_partial_fields() throws Exception {
+        // Given
+        Integer employeeId = employeeRepository.save(new Employee("russel", 22, "male", 5000)).getId();
+        statistics.clear();
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.put("/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"salary\" : 7000 }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("russel"))
+                .andExpect(jsonPath("$.salary").value(7000));
+
+        // Then
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void should_issue_single_delete_when_delete_employee() throws Exception {
+        // Given
+        Integer employeeId = employeeRepository.save(new Employee("russel", 22, "male", 5000)).getId();
+        statistics.clear();
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.delete("/employees/" + employeeId))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(employeeRepository.findById(employeeId).isPresent());
+    }
+
+    @Test
+    public void should_issue_two_deletes_when_delete_company_given_company_with_employees() throws Exception {
+        // Given
+        Integer companyId = companyRepository.save(new Company("OOCL")).getId();
+        for (int index = 0; index < 5; index++) {
+            Employee employee = new Employee("employee" + index, 20, "male", 1000);
+            employee.setCompanyId(companyId);
+            employeeRepository.save(employee);
+        }
+        statistics.clear();
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.delete("/companies/" + companyId))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, employeeRepository.count());
+    }
+}
@@ -0,0 +1,88 @@
+package com.thoughtworks.springbootemployee.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void should_reject_when_try_acquire_given_limit_reached() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 2, 1, 10, 100);
+
+        // When & Then
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+        assertEquals(1, limit.getRejected());
+    }
+
+    @Test
+    void should_grow_limit_when_release_given_fast_responses_under_load() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 2, 1, 3, 100);
+
+        // When
+        for (int round = 0; round < 3; round++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(FAST);
+            limit.release(FAST);
+        }
+
+        // Then
+        assertEquals(3, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void should_shrink_limit_down_to_min_when_release_given_slow_responses() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("write", 20, 5, 100, 100, clock::get);
+
+        // When
+        limit.tryAcquire();
+        clock.addAndGet(SLOW);
+        limit.release(SLOW);
+        int limitAfterOneSlowResponse = limit.getLimit();
+        for (int sample = 0; sample < 50; sample++) {
+            limit.tryAcquire();
+            clock.addAndGet(SLOW);
+            limit.release(SLOW);
+        }
+
+        // Then
+        assertEquals(18, limitAfterOneSlowResponse);
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void should_shrink_limit_once_when_release_given_slow_responses_started_before_last_backoff() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("write", 20, 5, 100, 100, clock::get);
+        for (int request = 0; request < 10; request++) {
+            limit.tryAcquire();
+        }
+
+        // When
+        clock.addAndGet(SLOW);
+        for (int request = 0; request < 10; request++) {
+            limit.release(SLOW);
+            clock.addAndGet(1);
+        }
+
+        // Then
+        assertEquals(18, limit.getLimit());
+    }
+}
@@ -0,0 +1,122 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.dto.CursorPage;
+import com.thoughtworks.springbootemployee.dto.EmployeeQuery;
+import com.thoughtworks.springbootemployee.dto.EmployeeRow;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class EmployeeQueryPushdownTest {
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    private Integer companyId;
+
+    @BeforeEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+        companyId = companyRepository.save(new Company("OOCL")).getId();
+        save("match-high", 30, "female", 9000, companyId);
+        save("match-low", 26, "female", 6000, companyId);
+        save("too-old", 40, "female", 9000, companyId);
+        save("too-poor", 30, "female", 4000, companyId);
+        save("wrong-gender", 30, "male", 9000, companyId);
+        save("no-company", 30, "female", 9000, null);
+    }
+
+    @Test
+    void should_push_every_filter_and_the_keyset_into_a_single_statement_when_query_employees() {
+        // Given
+        EmployeeQuery employeeQuery = query();
+        List<CursorPage<EmployeeRow>> pages = new ArrayList<>();
+
+        // When
+        List<String> firstPageStatements = SqlStatementCollector.collect(() -> pages.add(employeeService.queryEmployees(employeeQuery)));
+        employeeQuery.setAfter(pages.get(0).getNextCursor());
+        List<String> secondPageStatements = SqlStatementCollector.collect(() -> pages.add(employeeService.queryEmployees(employeeQuery)));
+
+        // Then
+        assertEquals(Collections.singletonList("match-high"), names(pages.get(0)));
+        assertEquals(Collections.singletonList("match-low"), names(pages.get(1)));
+        assertEquals(1, firstPageStatements.size());
+        assertEquals(2, secondPageStatements.size());
+        String sql = secondPageStatements.get(0).toLowerCase();
+        assertPushedDown(sql, "\\.gender\\s*=\\s*\\?");
+        assertPushedDown(sql, "\\.company_id\\s*=\\s*\\?");
+        assertPushedDown(sql, "\\.age\\s+between\\s+\\?\\s+and\\s+\\?");
+        assertPushedDown(sql, "\\.salary\\s*>=\\s*\\?");
+        assertPushedDown(sql, "\\.salary\\s*<\\s*\\?");
+        assertPushedDown(sql, "\\.id\\s*<\\s*\\?");
+        assertPushedDown(sql, "order\\s+by\\s+\\w+\\.salary\\s+desc\\s*,\\s*\\w+\\.id\\s+desc");
+        assertPushedDown(sql, "\\blimit\\s+\\?");
+        assertPushedDown(secondPageStatements.get(1).toLowerCase(), "\\.salary\\s+is\\s+null");
+    }
+
+    @Test
+    void should_page_rows_without_sort_value_last_when_query_employees() {
+        // Given
+        save("unknown-salary", 30, "female", null, companyId);
+        EmployeeQuery employeeQuery = query();
+        employeeQuery.setMinSalary(null);
+        employeeQuery.setLimit(2);
+
+        // When
+        CursorPage<EmployeeRow> firstPage = employeeService.queryEmployees(employeeQuery);
+        employeeQuery.setAfter(firstPage.getNextCursor());
+        CursorPage<EmployeeRow> secondPage = employeeService.queryEmployees(employeeQuery);
+
+        // Then
+        assertEquals(Arrays.asList("match-high", "match-low"), names(firstPage));
+        assertEquals(Arrays.asList("too-poor", "unknown-salary"), names(secondPage));
+        assertNull(secondPage.getNextCursor());
+    }
+
+    private EmployeeQuery query() {
+        EmployeeQuery employeeQuery = new EmployeeQuery();
+        employeeQuery.setGender("female");
+        employeeQuery.setCompanyId(companyId);
+        employeeQuery.setMinAge(25);
+        employeeQuery.setMaxAge(35);
+        employeeQuery.setMinSalary(5000);
+        employeeQuery.setSort("salary");
+        employeeQuery.setDirection("desc");
+        employeeQuery.setLimit(1);
+        return employeeQuery;
+    }
+
+    private void save(String name, Integer age, String gender, Integer salary, Integer companyId) {
+        Employee employee = new Employee(name, age, gender, salary);
+        employee.setCompanyId(companyId);
+        employeeRepository.save(employee);
+    }
+
+    private static List<String> names(CursorPage<EmployeeRow> page) {
+        return page.getItems().stream().map(EmployeeRow::getName).collect(Collectors.toList());
+    }
+
+    private static void assertPushedDown(String sql, String predicate) {
+        assertTrue(Pattern.compile(predicate).matcher(sql).find(), "Expected /" + predicate + "/ in SQL:\n" + sql);
+    }
+}
@@ -0,0 +1,77 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.pagination.SortKeyCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+public class QueryPlanTest {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void should_not_scan_employee_table_when_find_employee_by_gender() throws SQLException {
+        assertNoTableScan(() -> employeeRepository.findEmployeeByGender("male"));
+    }
+
+    @Test
+    void should_not_scan_employee_table_when_find_employees_after_cursor() throws SQLException {
+        assertNoTableScan(() -> employeeRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void should_not_scan_any_table_when_find_company_with_employees_by_id() throws SQLException {
+        assertNoTableScan(() -> companyRepository.findWithEmployeesById(1));
+    }
+
+    @Test
+    void should_not_scan_company_table_when_find_company_ids_after_cursor() throws SQLException {
+        assertNoTableScan(() -> companyRepository.findIdsByIdGreaterThan(0, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void should_not_scan_employee_table_when_query_employees_sorted_by_age_after_cursor() throws SQLException {
+        assertNoTableScan(() -> employeeRepository.findFirst(Specification.where(EmployeeSpecifications.hasGender("male"))
+                .and(EmployeeSpecifications.sortedAfter("age", true, new SortKeyCursor("age", "asc", 1, 30))), 11));
+    }
+
+    private void assertNoTableScan(Runnable query) throws SQLException {
+        List<String> statements = SqlStatementCollector.collect(query);
+        assertFalse(statements.isEmpty());
+        for (String statement : statements) {
+            String plan = explain(statement);
+            assertFalse(plan.contains("tableScan"), "Query regressed to a table scan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameterCount = explain.getParameterMetaData().getParameterCount();
+            for (int parameter = 1; parameter <= parameterCount; parameter++) {
+                explain.setNull(parameter, Types.NULL);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+}